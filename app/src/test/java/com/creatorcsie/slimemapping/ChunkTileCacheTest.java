@@ -0,0 +1,183 @@
+package com.creatorcsie.slimemapping;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.nio.LongBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ChunkTileCacheTest {
+    private static final long SEED = 20241017L;
+
+    @TempDir
+    Path dir;
+
+    private static long[] toArray(LongBuffer tile) {
+        LongBuffer copy = tile.duplicate();
+        copy.rewind();
+        long[] words = new long[copy.remaining()];
+        copy.get(words);
+        return words;
+    }
+
+    // 等到 count 个线程卡在 SlimeIndexFile.build 的监视器上
+    private static void awaitBlockedInIndexBuild(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            int blocked = 0;
+            for (Map.Entry<Thread, StackTraceElement[]> entry : Thread.getAllStackTraces().entrySet()) {
+                if (entry.getKey().getState() != Thread.State.BLOCKED) {
+                    continue;
+                }
+                for (StackTraceElement frame : entry.getValue()) {
+                    if (frame.getClassName().equals(SlimeIndexFile.class.getName()) && frame.getMethodName().equals("build")) {
+                        blocked++;
+                        break;
+                    }
+                }
+            }
+            if (blocked >= count) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        fail("threads did not reach SlimeIndexFile.build");
+    }
+
+    private static LongBuffer awaitTile(ChunkTileCache cache, long seed, int tileX, int tileZ) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            LongBuffer tile = cache.peekTile(seed, tileX, tileZ);
+            if (tile != null) {
+                return tile;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("tile was never computed");
+    }
+
+    // 切换版本时，后台任务和同步计算都卡在 Java 版的磁盘索引里（持有索引的监视器即可让 build 等待）；
+    // 它们完成后，缓存中只能是基岩版的结果，切换之后的同步请求也不能拿到旧版本的结果
+    @Test
+    void editionSwitchDuringComputeKeepsOldResultsOut() throws Exception {
+        // 单个后台线程：旧任务占住线程时，切换后提交的新任务排在它后面，旧任务一定先完成
+        ChunkTileCache cache = new ChunkTileCache(1 << 20, 1);
+        long[] bedrockAsync = ChunkTileCache.computeTile(SlimeChunkOracle.Edition.BEDROCK, SEED, 0, 0);
+        long[] bedrockSync = ChunkTileCache.computeTile(SlimeChunkOracle.Edition.BEDROCK, SEED, 1, 0);
+        long[] javaSync = ChunkTileCache.computeTile(SlimeChunkOracle.Edition.JAVA, SEED, 1, 0);
+        try (SlimeIndexFile index = SlimeIndexFile.open(dir.resolve("race.slimeidx"), SEED, 4)) {
+            cache.setIndex(index);
+            AtomicReference<LongBuffer> before = new AtomicReference<>();
+            AtomicReference<LongBuffer> after = new AtomicReference<>();
+            Thread oldReader;
+            Thread newReader;
+            synchronized (index) {
+                cache.peekTile(SEED, 0, 0);
+                oldReader = new Thread(() -> before.set(cache.getTile(SEED, 1, 0)));
+                oldReader.start();
+                awaitBlockedInIndexBuild(2);
+
+                cache.setEdition(SlimeChunkOracle.Edition.BEDROCK);
+                cache.peekTile(SEED, 0, 0);
+                newReader = new Thread(() -> after.set(cache.getTile(SEED, 1, 0)));
+                newReader.start();
+                // 新的同步请求不等待旧版本的计算
+                newReader.join(10_000);
+                assertArrayEquals(bedrockSync, toArray(after.get()));
+            }
+            oldReader.join(10_000);
+            // 切换前发出的请求仍得到它请求时的版本的结果
+            assertArrayEquals(javaSync, toArray(before.get()));
+
+            assertArrayEquals(bedrockAsync, toArray(awaitTile(cache, SEED, 0, 0)));
+            assertArrayEquals(bedrockSync, toArray(cache.getTile(SEED, 1, 0)));
+            assertEquals(SlimeChunkOracle.Edition.BEDROCK, cache.getEdition());
+        }
+    }
+
+    // 多个线程同时请求同一批瓦片：每个瓦片只计算一次，所有线程拿到同一个缓冲区
+    @Test
+    void concurrentGetTileComputesOnce() throws Exception {
+        ChunkTileCache cache = new ChunkTileCache(64L << 20, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<LongBuffer[]>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    LongBuffer[] tiles = new LongBuffer[100];
+                    for (int i = 0; i < tiles.length; i++) {
+                        tiles[i] = cache.getTile(SEED, i % 10, i / 10);
+                    }
+                    return tiles;
+                }));
+            }
+            LongBuffer[] first = futures.get(0).get();
+            for (Future<LongBuffer[]> future : futures) {
+                LongBuffer[] tiles = future.get();
+                for (int i = 0; i < tiles.length; i++) {
+                    assertSame(first[i], tiles[i]);
+                }
+            }
+            for (int i = 0; i < first.length; i++) {
+                assertArrayEquals(ChunkTileCache.computeTile(SlimeChunkOracle.Edition.JAVA, SEED, i % 10, i / 10),
+                    toArray(first[i]));
+            }
+            assertEquals(100, cache.getMisses());
+            assertEquals(100, cache.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // 同步计算进行中时，每帧的非阻塞读取都问到同一瓦片：完成后只通知一次
+    @Test
+    void peekTileDuringSyncComputeNotifiesOnce() throws Exception {
+        ChunkTileCache cache = new ChunkTileCache(1 << 20, 1);
+        List<String> ready = new CopyOnWriteArrayList<>();
+        cache.addTileListener((seed, tileX, tileZ) -> ready.add(seed + ":" + tileX + ":" + tileZ));
+        try (SlimeIndexFile index = SlimeIndexFile.open(dir.resolve("notify.slimeidx"), SEED, 4)) {
+            cache.setIndex(index);
+            Thread reader;
+            synchronized (index) {
+                reader = new Thread(() -> cache.getTile(SEED, 2, -1));
+                reader.start();
+                awaitBlockedInIndexBuild(1);
+                for (int frame = 0; frame < 100; frame++) {
+                    assertNull(cache.peekTile(SEED, 2, -1));
+                }
+            }
+            // 通知在 getTile 返回之前完成
+            reader.join(10_000);
+            assertEquals(List.of(SEED + ":2:-1"), ready);
+            assertNotNull(cache.peekTile(SEED, 2, -1));
+        }
+    }
+
+    @Test
+    void peekTileComputesInBackground() throws InterruptedException {
+        ChunkTileCache cache = new ChunkTileCache(1 << 20, 1);
+        List<String> ready = new CopyOnWriteArrayList<>();
+        cache.addTileListener((seed, tileX, tileZ) -> ready.add(seed + ":" + tileX + ":" + tileZ));
+        LongBuffer tile = awaitTile(cache, SEED, -3, 7);
+        assertArrayEquals(ChunkTileCache.computeTile(SlimeChunkOracle.Edition.JAVA, SEED, -3, 7), toArray(tile));
+        // 回调在放入缓存之后、锁外进行
+        for (int i = 0; i < 1000 && ready.isEmpty(); i++) {
+            Thread.sleep(5);
+        }
+        assertEquals(List.of(SEED + ":-3:7"), ready);
+    }
+}
@@ -0,0 +1,92 @@
+package com.creatorcsie.slimemapping;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import javax.swing.SwingUtilities;
+import org.junit.jupiter.api.Test;
+
+// 分层缓存的局部重绘与整体重画的结果逐像素相同
+class CoordinateSystemTest {
+    private static final int WIDTH = 320;
+    private static final int HEIGHT = 240;
+
+    // changed 范围内的区块改画另一种颜色，模拟后台瓦片完成后区块数据改变
+    private static final class Raster implements CoordinateSystem.ChunkRasterProvider {
+        volatile Rectangle changed = new Rectangle();
+
+        @Override
+        public void fillChunkRaster(int minChunkX, int minChunkZ, int width, int height, int[] argb) {
+            for (int z = 0; z < height; z++) {
+                for (int x = 0; x < width; x++) {
+                    int chunkX = minChunkX + x;
+                    int chunkZ = minChunkZ + z;
+                    int color = ((chunkX * 31 + chunkZ * 17) & 3) == 0 ? 0xFF00A000 : 0;
+                    argb[z * width + x] = changed.contains(chunkX, chunkZ) ? 0xFFC00000 : color;
+                }
+            }
+        }
+    }
+
+    private static CoordinateSystem view(ViewModel model, Raster raster) {
+        CoordinateSystem view = new CoordinateSystem();
+        view.setViewModel(model);
+        view.setChunkRasterProvider(raster);
+        view.setHudVisible(false);
+        view.setSize(WIDTH, HEIGHT);
+        return view;
+    }
+
+    private static int[] paint(CoordinateSystem view) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        view.paint(g);
+        g.dispose();
+        return image.getRGB(0, 0, WIDTH, HEIGHT, null, 0, WIDTH);
+    }
+
+    private static <T> T onEdt(Supplier<T> task) throws Exception {
+        AtomicReference<T> result = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> result.set(task.get()));
+        return result.get();
+    }
+
+    // 平移已应用到偏移、但还没有重绘时，某块区域的数据改变：它与平移露出的边条一起补画
+    @Test
+    void repaintChunksDuringPendingPanMatchesFullRedraw() throws Exception {
+        ViewModel model = new ViewModel();
+        model.update(s -> s.withView(0, 0, 0.25));
+        Raster raster = new Raster();
+        CoordinateSystem view = onEdt(() -> view(model, raster));
+        int[] before = onEdt(() -> paint(view));
+        Point start = onEdt(view::getOffset);
+
+        // 内容向左上移动，窗口右侧和下方露出新的边条
+        model.update(s -> s.translate(-40, -24));
+        Point panned = new Point(start.x - 40, start.y - 24);
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!onEdt(view::getOffset).equals(panned) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(panned, onEdt(view::getOffset));
+
+        // 平移后仍在窗口内、不在露出边条中的区块范围
+        Rectangle changed = new Rectangle(0, 0, 8, 6);
+        int[] after = onEdt(() -> {
+            raster.changed = changed;
+            view.repaintChunks(changed.x, changed.y, changed.width, changed.height);
+            return paint(view);
+        });
+        int[] expected = onEdt(() -> paint(view(model, raster)));
+        assertFalse(Arrays.equals(before, after));
+        assertArrayEquals(expected, after);
+    }
+}
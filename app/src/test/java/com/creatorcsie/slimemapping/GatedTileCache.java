@@ -0,0 +1,29 @@
+package com.creatorcsie.slimemapping;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 第一次读取游戏版本后停住，直到测试放行：构建已按 Java 版读了一个瓦片，之后的瓦片才切换版本
+final class GatedTileCache extends ChunkTileCache {
+    final AtomicBoolean armed = new AtomicBoolean(true);
+    final CountDownLatch entered = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+
+    GatedTileCache() {
+        super(64L << 20, 1);
+    }
+
+    @Override
+    public SlimeChunkOracle.Edition getEdition() {
+        SlimeChunkOracle.Edition edition = super.getEdition();
+        if (armed.compareAndSet(true, false)) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return edition;
+    }
+}
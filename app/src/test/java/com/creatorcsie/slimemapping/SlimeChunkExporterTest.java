@@ -0,0 +1,59 @@
+package com.creatorcsie.slimemapping;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+class SlimeChunkExporterTest {
+    private static final int WORLD_WIDTH = 2 * SlimeChunkMapping.MAX_CHUNK + 1;
+
+    @Test
+    void bitmapMatchesOracle() throws IOException {
+        long seed = -4172144997902289642L;
+        int minX = -100;
+        int minZ = 37;
+        int width = 150;
+        int height = 130;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new SlimeChunkExporter(seed, minX, minZ, width, height, 3).writeBitmap(bytes);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(SlimeChunkExporter.BITMAP_MAGIC, in.readInt());
+        assertEquals(SlimeChunkExporter.BITMAP_VERSION, in.readInt());
+        assertEquals(seed, in.readLong());
+        assertArrayEquals(new int[] {minX, minZ, width, height},
+            new int[] {in.readInt(), in.readInt(), in.readInt(), in.readInt()});
+        int rowWords = (width + 63) / 64;
+        long[] row = new long[rowWords];
+        for (int dz = 0; dz < height; dz++) {
+            for (int w = 0; w < rowWords; w++) {
+                row[w] = in.readLong();
+            }
+            for (int dx = 0; dx < width; dx++) {
+                assertEquals(SlimeChunkOracle.isSlimeChunk(seed, minX + dx, minZ + dz), SlimeChunkOracle.testBit(row, dx));
+            }
+        }
+        assertEquals(-1, in.read());
+    }
+
+    // 世界全宽 1568853 个区块：scale 1368 时扫描线恰好放得下，再大就超过 int 范围，应在写文件前报错
+    @Test
+    void rejectsOversizedPngBeforeWriting() {
+        SlimeChunkExporter fullWidth = new SlimeChunkExporter(0, -SlimeChunkMapping.MAX_CHUNK, 0, WORLD_WIDTH, 1, 1);
+        assertDoesNotThrow(() -> fullWidth.checkPngSize(1));
+        assertDoesNotThrow(() -> fullWidth.checkPngSize(1368));
+        assertThrows(IOException.class, () -> fullWidth.checkPngSize(1369));
+        assertThrows(IOException.class, () -> fullWidth.checkPngSize(2000));
+
+        SlimeChunkExporter fullHeight = new SlimeChunkExporter(0, 0, -SlimeChunkMapping.MAX_CHUNK, 1, WORLD_WIDTH, 1);
+        assertThrows(IOException.class, () -> fullHeight.checkPngSize(1369));
+        assertThrows(IOException.class, () -> fullHeight.writePng(new ByteArrayOutputStream(), 1369));
+    }
+}
@@ -0,0 +1,206 @@
+package com.creatorcsie.slimemapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+// SlimeChunkOracle 与 new Random(hash).nextInt(10) == 0（原 SlimeChunkMapping.isSlimeChunk）逐位一致，
+// 基岩版与完整的 MT19937 一致
+class SlimeChunkOracleTest {
+    private static final int SAMPLES = 200_000;
+
+    // 原来的实现：每个区块新建一个 Random
+    private static boolean randomReference(long worldSeed, int chunkX, int chunkZ) {
+        long hash = worldSeed
+            + (chunkX * chunkX * 4987142L)
+            + (chunkX * 5947611L)
+            + (chunkZ * chunkZ * 4392871L)
+            + (chunkZ * 389711L);
+        return new Random(hash ^ SlimeChunkOracle.MAGIC_SEED).nextInt(10) == 0;
+    }
+
+    // 坐标一半取世界范围内，一半取任意 int（chunkX * chunkX 溢出的范围）
+    private static int randomCoordinate(Random random) {
+        return random.nextBoolean()
+            ? random.nextInt(2 * SlimeChunkMapping.MAX_CHUNK + 1) - SlimeChunkMapping.MAX_CHUNK
+            : random.nextInt();
+    }
+
+    @Test
+    void isSlimeChunkMatchesRandom() {
+        Random random = new Random(1);
+        for (int i = 0; i < SAMPLES; i++) {
+            long seed = random.nextLong();
+            int x = randomCoordinate(random);
+            int z = randomCoordinate(random);
+            assertEquals(randomReference(seed, x, z), SlimeChunkOracle.isSlimeChunk(seed, x, z),
+                "seed " + seed + " chunk (" + x + ", " + z + ")");
+        }
+        for (int x : new int[] {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE}) {
+            for (int z : new int[] {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE}) {
+                assertEquals(randomReference(12345L, x, z), SlimeChunkOracle.isSlimeChunk(12345L, x, z));
+            }
+        }
+    }
+
+    // Random.nextInt(10) 在第一次取数 >= 2147483640 时拒绝重取：反推出会触发拒绝的 hash 逐个比较
+    @Test
+    void rejectionSamplingMatchesRandom() {
+        long inverse = SlimeChunkOracle.MULTIPLIER;
+        for (int i = 0; i < 6; i++) {
+            inverse *= 2 - SlimeChunkOracle.MULTIPLIER * inverse;
+        }
+        for (long bits = 2147483640L; bits <= Integer.MAX_VALUE; bits++) {
+            for (long low = 0; low < (1 << 17); low += 4099) {
+                long state = (bits << 17) | low;
+                long scrambled = ((state - SlimeChunkOracle.ADDEND) * inverse) & SlimeChunkOracle.MASK;
+                long hash = scrambled ^ SlimeChunkOracle.MULTIPLIER ^ SlimeChunkOracle.MAGIC_SEED;
+                assertEquals(new Random(hash ^ SlimeChunkOracle.MAGIC_SEED).nextInt(10) == 0,
+                    SlimeChunkOracle.isSlimeHash(hash), "hash " + hash);
+            }
+        }
+    }
+
+    @Test
+    void fillRowMatchesIsSlimeChunk() {
+        Random random = new Random(2);
+        for (int i = 0; i < 2000; i++) {
+            long seed = random.nextLong();
+            int z = randomCoordinate(random);
+            int minX = randomCoordinate(random);
+            int width = 1 + random.nextInt(300);
+            int bitOffset = random.nextInt(100);
+            long[] bits = new long[(bitOffset + width + 63) / 64 + 1];
+            // 预先填满 1，检查 0 也会被写入
+            Arrays.fill(bits, -1L);
+            SlimeChunkOracle.fillRow(seed, z, minX, width, bits, bitOffset);
+            for (int dx = 0; dx < width; dx++) {
+                assertEquals(randomReference(seed, minX + dx, z), SlimeChunkOracle.testBit(bits, bitOffset + dx));
+            }
+        }
+    }
+
+    @Test
+    void vectorKernelMatchesScalar() {
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(), "jdk.incubator.vector not present");
+        SlimeChunkOracle.RowKernel vector = new SlimeChunkVectorKernel();
+        Random random = new Random(3);
+        for (int i = 0; i < 5000; i++) {
+            long rowSeed = SlimeChunkOracle.rowSeed(random.nextLong(), randomCoordinate(random));
+            int minX = randomCoordinate(random);
+            int width = 1 + random.nextInt(200);
+            int bitOffset = random.nextInt(64);
+            long[] expected = new long[(bitOffset + width + 63) / 64];
+            long[] actual = new long[expected.length];
+            SlimeChunkOracle.fillRowScalar(rowSeed, minX, width, expected, bitOffset);
+            vector.fillRow(rowSeed, minX, width, actual, bitOffset);
+            assertEquals(Arrays.toString(expected), Arrays.toString(actual),
+                "row seed " + rowSeed + " from " + minX + " width " + width);
+        }
+    }
+
+    @Test
+    void fillRectMatchesIsSlimeChunk() {
+        Random random = new Random(4);
+        for (int i = 0; i < 500; i++) {
+            long seed = random.nextLong();
+            int minX = randomCoordinate(random);
+            int minZ = randomCoordinate(random);
+            int width = 1 + random.nextInt(130);
+            int height = 1 + random.nextInt(70);
+            long[] viaOracle = new long[SlimeChunkOracle.wordsFor(width, height)];
+            long[] viaTerms = new long[viaOracle.length];
+            SlimeChunkOracle.fillRect(seed, minX, minZ, width, height, viaOracle);
+            SlimeChunkOracle.fillRectTerms(seed, SlimeChunkOracle.rectTerms(minX, minZ, width, height), width, height, viaTerms);
+            for (int dz = 0; dz < height; dz++) {
+                for (int dx = 0; dx < width; dx++) {
+                    boolean expected = randomReference(seed, minX + dx, minZ + dz);
+                    assertEquals(expected, SlimeChunkOracle.testBit(viaOracle, dz * width + dx));
+                    assertEquals(expected, SlimeChunkOracle.testBit(viaTerms, dz * width + dx));
+                }
+            }
+        }
+    }
+
+    @Test
+    void mtFirstOutputKnownValues() {
+        // 参考实现（C++ std::mt19937 等）的已知首个输出
+        assertEquals(3499211612L, Integer.toUnsignedLong(SlimeChunkOracle.mtFirstOutput(5489)));
+        assertEquals(2357136044L, Integer.toUnsignedLong(SlimeChunkOracle.mtFirstOutput(0)));
+        assertEquals(1791095845L, Integer.toUnsignedLong(SlimeChunkOracle.mtFirstOutput(1)));
+    }
+
+    @Test
+    void mtFirstOutputMatchesFullGenerator() {
+        Random random = new Random(5);
+        for (int i = 0; i < 2000; i++) {
+            int seed = random.nextInt();
+            assertEquals(fullMtFirstOutput(seed), SlimeChunkOracle.mtFirstOutput(seed), "seed " + seed);
+        }
+    }
+
+    // 以 C++ std::mt19937 独立算出的参考结果：这些列在 z ∈ [-3, 40] 内的基岩版史莱姆区块恰好是下列坐标
+    private static final int[][] BEDROCK_SLIME_COLUMNS = {
+        {0, -2, 4, 6, 9},
+        {1, -2, 18, 31},
+        {-1, 0, 17, 19, 26, 36, 37},
+        {100, 12, 21, 24, 25, 31},
+        {-37, -2, 32, 35},
+        {-200000, 0, 8, 11, 30, 38},
+    };
+
+    @Test
+    void bedrockKnownSlimeChunks() {
+        for (int[] column : BEDROCK_SLIME_COLUMNS) {
+            int x = column[0];
+            for (int z = -3; z <= 40; z++) {
+                boolean expected = false;
+                for (int i = 1; i < column.length; i++) {
+                    expected |= column[i] == z;
+                }
+                assertEquals(expected, SlimeChunkOracle.isBedrockSlimeChunk(x, z), "chunk (" + x + ", " + z + ")");
+            }
+        }
+    }
+
+    @Test
+    void bedrockRowsMatchSingleChunks() {
+        Random random = new Random(6);
+        for (int i = 0; i < 300; i++) {
+            int z = randomCoordinate(random);
+            int minX = randomCoordinate(random);
+            int width = 1 + random.nextInt(70);
+            int bitOffset = random.nextInt(64);
+            long[] bits = new long[(bitOffset + width + 63) / 64];
+            Arrays.fill(bits, -1L);
+            SlimeChunkOracle.Edition.BEDROCK.fillRow(0, z, minX, width, bits, bitOffset);
+            for (int dx = 0; dx < width; dx++) {
+                int x = minX + dx;
+                boolean expected = Integer.remainderUnsigned(fullMtFirstOutput((x * 0x1F1F1F1F) ^ z), 10) == 0;
+                assertEquals(expected, SlimeChunkOracle.testBit(bits, bitOffset + dx), "chunk (" + x + ", " + z + ")");
+                assertEquals(expected, SlimeChunkOracle.Edition.BEDROCK.isSlimeChunk(0, x, z));
+            }
+        }
+    }
+
+    // 完整的 MT19937：初始化 624 个状态字、整体重排一次后取第一个输出
+    private static int fullMtFirstOutput(int seed) {
+        int[] mt = new int[624];
+        mt[0] = seed;
+        for (int i = 1; i < 624; i++) {
+            mt[i] = 1812433253 * (mt[i - 1] ^ (mt[i - 1] >>> 30)) + i;
+        }
+        for (int i = 0; i < 624; i++) {
+            int y = (mt[i] & 0x80000000) | (mt[(i + 1) % 624] & 0x7FFFFFFF);
+            mt[i] = mt[(i + 397) % 624] ^ (y >>> 1) ^ ((y & 1) != 0 ? 0x9908B0DF : 0);
+        }
+        int y = mt[0];
+        y ^= y >>> 11;
+        y ^= (y << 7) & 0x9D2C5680;
+        y ^= (y << 15) & 0xEFC60000;
+        return y ^ (y >>> 18);
+    }
+}
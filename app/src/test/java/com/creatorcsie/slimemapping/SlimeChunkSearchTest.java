@@ -0,0 +1,97 @@
+package com.creatorcsie.slimemapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+// 逐圈搜索的结果与暴力枚举一致：前 k 个距离相同，结果都是世界内、去重、按距离升序的史莱姆区块
+class SlimeChunkSearchTest {
+    private static final int MAX = SlimeChunkMapping.MAX_CHUNK;
+
+    private static long distance(Point p, int chunkX, int chunkZ) {
+        long dx = p.x - chunkX;
+        long dz = p.y - chunkZ;
+        return dx * dx + dz * dz;
+    }
+
+    // 枚举以 (chunkX, chunkZ) 为中心、半径 radius 的正方形内全部史莱姆区块的距离，升序
+    private static List<Long> bruteForce(long seed, int chunkX, int chunkZ, int radius, boolean excludeSpawn) {
+        List<Long> distances = new ArrayList<>();
+        for (long z = (long) chunkZ - radius; z <= (long) chunkZ + radius; z++) {
+            for (long x = (long) chunkX - radius; x <= (long) chunkX + radius; x++) {
+                if (Math.abs(x) > MAX || Math.abs(z) > MAX) {
+                    continue;
+                }
+                if (excludeSpawn && SlimeChunkSearch.isSpawnChunk((int) x, (int) z)) {
+                    continue;
+                }
+                if (SlimeChunkOracle.isSlimeChunk(seed, (int) x, (int) z)) {
+                    long dx = x - chunkX;
+                    long dz = z - chunkZ;
+                    distances.add(dx * dx + dz * dz);
+                }
+            }
+        }
+        distances.sort(null);
+        return distances;
+    }
+
+    private static void check(long seed, int chunkX, int chunkZ, int k, boolean excludeSpawn) {
+        List<Point> result = SlimeChunkSearch.nearest(seed, chunkX, chunkZ, k, excludeSpawn);
+        assertEquals(k, result.size());
+        long worst = distance(result.get(k - 1), chunkX, chunkZ);
+        // 比第 k 个结果更近的区块一定在这个正方形内
+        List<Long> expected = bruteForce(seed, chunkX, chunkZ, (int) Math.ceil(Math.sqrt(worst)), excludeSpawn);
+        HashSet<Point> seen = new HashSet<>();
+        for (int i = 0; i < k; i++) {
+            Point p = result.get(i);
+            assertTrue(seen.add(p), "duplicate " + p);
+            assertTrue(Math.abs(p.x) <= MAX && Math.abs(p.y) <= MAX, "outside the world: " + p);
+            assertTrue(SlimeChunkOracle.isSlimeChunk(seed, p.x, p.y), "not a slime chunk: " + p);
+            if (excludeSpawn) {
+                assertFalse(SlimeChunkSearch.isSpawnChunk(p.x, p.y));
+            }
+            assertEquals(expected.get(i), distance(p, chunkX, chunkZ),
+                "seed " + seed + " from (" + chunkX + ", " + chunkZ + ") result " + i);
+        }
+    }
+
+    @Test
+    void matchesBruteForce() {
+        Random random = new Random(7);
+        for (int i = 0; i < 300; i++) {
+            long seed = random.nextLong();
+            int chunkX = random.nextInt(2 * MAX + 1) - MAX;
+            int chunkZ = random.nextInt(2 * MAX + 1) - MAX;
+            check(seed, chunkX, chunkZ, 1 + random.nextInt(20), false);
+        }
+    }
+
+    @Test
+    void worldBorderAndSpawn() {
+        Random random = new Random(8);
+        for (int i = 0; i < 50; i++) {
+            long seed = random.nextLong();
+            check(seed, MAX, MAX, 10, false);
+            check(seed, -MAX, MAX - 1, 10, false);
+            check(seed, MAX, random.nextInt(2 * MAX + 1) - MAX, 5, false);
+            check(seed, 0, 0, 8, true);
+            check(seed, 3, -9, 3, true);
+        }
+    }
+
+    @Test
+    void sourceOverloadUsesTheGivenPredicate() {
+        // 只有一个“史莱姆区块”时，无论从哪里搜索都找到它
+        Point target = new Point(1234, -567);
+        Point found = SlimeChunkSearch.nearest((x, z) -> x == target.x && z == target.y, 1200, -600, false);
+        assertEquals(target, found);
+    }
+}
@@ -0,0 +1,74 @@
+package com.creatorcsie.slimemapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+// 积分图统计出的窗口计数与逐个区块枚举一致，第一名就是区域内的最大值
+class SlimeClusterFinderTest {
+    private static final int MAX = SlimeChunkMapping.MAX_CHUNK;
+
+    private interface Window {
+        boolean contains(int dx, int dz);
+    }
+
+    // 窗口的偏移都在 [lo, hi] 内
+    private static int bruteCount(long seed, int chunkX, int chunkZ, int lo, int hi, Window window) {
+        int count = 0;
+        for (int dz = lo; dz <= hi; dz++) {
+            for (int dx = lo; dx <= hi; dx++) {
+                if (window.contains(dx, dz) && SlimeChunkOracle.isSlimeChunk(seed, chunkX + dx, chunkZ + dz)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static void check(long seed, SlimeClusterFinder.Shape shape, int lo, int hi, Window window,
+                              int minX, int minZ, int maxX, int maxZ) {
+        List<SlimeClusterFinder.Cluster> clusters =
+            new SlimeClusterFinder(seed, shape, minX, minZ, maxX, maxZ, 10).search(ForkJoinPool.commonPool());
+        assertFalse(clusters.isEmpty());
+        for (int i = 0; i < clusters.size(); i++) {
+            SlimeClusterFinder.Cluster c = clusters.get(i);
+            assertEquals(bruteCount(seed, c.chunkX, c.chunkZ, lo, hi, window), c.count, c.toString());
+            // 窗口完全在世界边界内
+            assertTrue(c.chunkX + lo >= -MAX && c.chunkX + hi <= MAX && c.chunkZ + lo >= -MAX && c.chunkZ + hi <= MAX);
+            if (i > 0) {
+                assertTrue(clusters.get(i - 1).count >= c.count);
+            }
+        }
+        int best = 0;
+        int fromX = Math.max(minX, -MAX - lo);
+        int toX = Math.min(maxX, MAX - hi);
+        int fromZ = Math.max(minZ, -MAX - lo);
+        int toZ = Math.min(maxZ, MAX - hi);
+        for (int z = fromZ; z <= toZ; z++) {
+            for (int x = fromX; x <= toX; x++) {
+                best = Math.max(best, bruteCount(seed, x, z, lo, hi, window));
+            }
+        }
+        assertEquals(best, clusters.get(0).count);
+    }
+
+    @Test
+    void squareWindowMatchesBruteForce() {
+        // square(8) 覆盖 dx, dz ∈ [-4, 3]
+        Window square = (dx, dz) -> dx >= -4 && dx <= 3 && dz >= -4 && dz <= 3;
+        check(42L, SlimeClusterFinder.Shape.square(8), -4, 3, square, -150, -120, 170, 140);
+        check(-7L, SlimeClusterFinder.Shape.square(8), -4, 3, square, MAX - 200, -MAX, MAX, -MAX + 150);
+    }
+
+    @Test
+    void radiusWindowMatchesBruteForce() {
+        // radius(128)：区块中心距离不超过 8 个区块
+        Window disc = (dx, dz) -> dx * dx + dz * dz <= 64;
+        check(123456789L, SlimeClusterFinder.Shape.radius(128), -8, 8, disc, -90, 300, 110, 480);
+        check(5L, SlimeClusterFinder.Shape.radius(128), -8, 8, disc, -MAX, MAX - 100, -MAX + 120, MAX);
+    }
+}
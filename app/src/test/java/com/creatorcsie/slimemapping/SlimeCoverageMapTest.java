@@ -0,0 +1,99 @@
+package com.creatorcsie.slimemapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SlimeCoverageMapTest {
+    private static final long SEED = 271828182845L;
+    private static final int MAX = SlimeChunkMapping.MAX_CHUNK;
+
+    @TempDir
+    Path dir;
+
+    // 逐个区块枚举：区块中心距离在 [24, 128] 格内、且在世界边界内的史莱姆区块数
+    private static int bruteCoverage(long seed, int chunkX, int chunkZ) {
+        int count = 0;
+        for (int dz = -8; dz <= 8; dz++) {
+            for (int dx = -8; dx <= 8; dx++) {
+                int d2 = dx * dx + dz * dz;
+                int x = chunkX + dx;
+                int z = chunkZ + dz;
+                if (d2 * 256 < 24 * 24 || d2 * 256 > 128 * 128 || Math.abs(x) > MAX || Math.abs(z) > MAX) {
+                    continue;
+                }
+                if (SlimeChunkOracle.isSlimeChunk(seed, x, z)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static void check(SlimeCoverageMap map, int minChunkX, int minChunkZ, int width, int height) {
+        int[] counts = new int[width * height];
+        map.fillCoverage(minChunkX, minChunkZ, width, height, counts, false);
+        for (int dz = 0; dz < height; dz++) {
+            for (int dx = 0; dx < width; dx++) {
+                int x = minChunkX + dx;
+                int z = minChunkZ + dz;
+                assertEquals(bruteCoverage(SEED, x, z), counts[dz * width + dx], "(" + x + ", " + z + ")");
+            }
+        }
+    }
+
+    @Test
+    void ringCountsMatchBruteForce() {
+        int ring = 0;
+        for (int dz = -8; dz <= 8; dz++) {
+            for (int dx = -8; dx <= 8; dx++) {
+                int d2 = (dx * dx + dz * dz) * 256;
+                if (d2 >= 24 * 24 && d2 <= 128 * 128) {
+                    ring++;
+                }
+            }
+        }
+        assertEquals(ring, SlimeCoverageMap.RING_CHUNKS);
+
+        SlimeChunkProvider provider = new SlimeChunkProvider(new ChunkTileCache(64L << 20, 1), false);
+        provider.setSeed(SEED);
+        SlimeCoverageMap map = new SlimeCoverageMap(new ChunkTileCache(64L << 20, 1), provider);
+        // 跨越瓦片边界，以及世界边界的角上
+        check(map, -70, -10, 150, 90);
+        check(map, MAX - 20, -MAX - 5, 30, 40);
+        assertEquals(bruteCoverage(SEED, 63, -64), map.coverageAt(63, -64));
+    }
+
+    // 异步模式下不等待瓦片计算：后台计算被卡住时立即返回，所有格子都是未就绪；计算完成后与同步结果一致
+    @Test
+    void asyncModeDoesNotWaitForTiles() throws Exception {
+        ChunkTileCache tileCache = new ChunkTileCache(64L << 20, 1);
+        SlimeChunkProvider provider = new SlimeChunkProvider(tileCache, true);
+        provider.setSeed(SEED);
+        SlimeCoverageMap map = new SlimeCoverageMap(tileCache, provider);
+        try (SlimeIndexFile index = SlimeIndexFile.open(dir.resolve("coverage.slimeidx"), SEED, 4)) {
+            tileCache.setIndex(index);
+            int[] counts = new int[20 * 20];
+            Thread painter;
+            synchronized (index) {
+                painter = new Thread(() -> map.fillCoverage(10, 50, 20, 20, counts, false));
+                painter.start();
+                painter.join(10_000);
+                assertFalse(painter.isAlive(), "fillCoverage waited for a tile");
+                assertEquals(-1, map.coverageAt(12, 60));
+            }
+            for (int count : counts) {
+                assertEquals(-1, count);
+            }
+
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (map.coverageAt(30, 70) < 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            check(map, 10, 50, 20, 20);
+        }
+    }
+}
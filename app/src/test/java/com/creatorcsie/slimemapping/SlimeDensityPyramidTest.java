@@ -0,0 +1,103 @@
+package com.creatorcsie.slimemapping;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class SlimeDensityPyramidTest {
+    private static final long SEED = -6075343437349127270L;
+    private static final int SIZE = SlimeDensityPyramid.BLOCK_SIZE;
+
+    // 逐个区块统计：第 level 层块 (blockX, blockZ) 的每个格子是 2^level x 2^level 个区块中的史莱姆区块数
+    private static short[] bruteBlock(SlimeChunkOracle.Edition edition, long seed, int level, int blockX, int blockZ) {
+        int side = SIZE << level;
+        int minX = blockX * side;
+        int minZ = blockZ * side;
+        long[] bits = new long[SlimeChunkOracle.wordsFor(side, 1)];
+        short[] counts = new short[SIZE * SIZE];
+        for (int dz = 0; dz < side; dz++) {
+            edition.fillRow(seed, minZ + dz, minX, side, bits, 0);
+            for (int dx = 0; dx < side; dx++) {
+                if (SlimeChunkOracle.testBit(bits, dx)) {
+                    counts[(dz >> level) * SIZE + (dx >> level)]++;
+                }
+            }
+        }
+        return counts;
+    }
+
+    @Test
+    void countsMatchBruteForceAtEveryLevel() {
+        for (int level = SlimeDensityPyramid.MIN_LEVEL; level <= SlimeDensityPyramid.MAX_LEVEL; level++) {
+            SlimeDensityPyramid pyramid = new SlimeDensityPyramid(new ChunkTileCache(64L << 20), 8L << 20, 1);
+            int blockX = level % 2 == 0 ? -1 : 2;
+            int blockZ = level < 4 ? 3 : -2;
+            assertArrayEquals(bruteBlock(SlimeChunkOracle.Edition.JAVA, SEED, level, blockX, blockZ),
+                pyramid.getBlock(SEED, level, blockX, blockZ), "level " + level);
+        }
+    }
+
+    // 四个子块都已缓存时按子块相加，结果与从位图统计相同
+    @Test
+    void mergedBlocksMatchCountedBlocks() {
+        SlimeDensityPyramid pyramid = new SlimeDensityPyramid(new ChunkTileCache(64L << 20), 8L << 20, 1);
+        for (int level = SlimeDensityPyramid.MIN_LEVEL + 1; level <= 4; level++) {
+            for (int i = 0; i < 4; i++) {
+                pyramid.getBlock(SEED, level - 1, -2 + (i & 1), 4 + (i >> 1));
+            }
+            assertArrayEquals(bruteBlock(SlimeChunkOracle.Edition.JAVA, SEED, level, -1, 2),
+                pyramid.getBlock(SEED, level, -1, 2), "level " + level);
+        }
+        assertTrue(pyramid.getStats().contains("合并 3"), pyramid.getStats());
+    }
+
+    private static short[] awaitBlock(SlimeDensityPyramid pyramid, long seed, int level, int blockX, int blockZ)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            short[] counts = pyramid.peekBlock(seed, level, blockX, blockZ);
+            if (counts != null) {
+                return counts;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("block was never built");
+    }
+
+    // 后台构建跨越版本切换：旧任务先完成（单个后台线程），它混合了两个版本的结果不能进入缓存，
+    // 也不能占用切换后重新提交的任务
+    @Test
+    void editionSwitchDuringBackgroundBuild() throws InterruptedException {
+        GatedTileCache tileCache = new GatedTileCache();
+        SlimeDensityPyramid pyramid = new SlimeDensityPyramid(tileCache, 8L << 20, 1);
+        pyramid.peekBlock(SEED, 2, 0, 0);
+        assertTrue(tileCache.entered.await(10, TimeUnit.SECONDS));
+
+        tileCache.setEdition(SlimeChunkOracle.Edition.BEDROCK);
+        pyramid.invalidate();
+        pyramid.peekBlock(SEED, 2, 0, 0);
+        tileCache.release.countDown();
+
+        assertArrayEquals(bruteBlock(SlimeChunkOracle.Edition.BEDROCK, SEED, 2, 0, 0), awaitBlock(pyramid, SEED, 2, 0, 0));
+    }
+
+    @Test
+    void editionSwitchDuringBlockingBuild() throws InterruptedException {
+        GatedTileCache tileCache = new GatedTileCache();
+        SlimeDensityPyramid pyramid = new SlimeDensityPyramid(tileCache, 8L << 20, 1);
+        AtomicReference<short[]> before = new AtomicReference<>();
+        Thread reader = new Thread(() -> before.set(pyramid.getBlock(SEED, 2, 1, -1)));
+        reader.start();
+        assertTrue(tileCache.entered.await(10, TimeUnit.SECONDS));
+
+        tileCache.setEdition(SlimeChunkOracle.Edition.BEDROCK);
+        pyramid.invalidate();
+        tileCache.release.countDown();
+        reader.join(10_000);
+
+        assertArrayEquals(bruteBlock(SlimeChunkOracle.Edition.BEDROCK, SEED, 2, 1, -1), pyramid.getBlock(SEED, 2, 1, -1));
+    }
+}
@@ -0,0 +1,76 @@
+package com.creatorcsie.slimemapping;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SlimeIndexFileTest {
+    private static final long SEED = 8675309L;
+
+    @TempDir
+    Path dir;
+
+    private static long[] toArray(LongBuffer tile) {
+        long[] words = new long[tile.remaining()];
+        tile.get(words);
+        return words;
+    }
+
+    @Test
+    void tilesMatchComputedTilesAndSurviveReopen() throws IOException {
+        Path file = dir.resolve(SEED + ".slimeidx");
+        try (SlimeIndexFile index = SlimeIndexFile.open(file, SEED, 4)) {
+            assertNull(index.tile(4, 0));
+            for (int tz = -4; tz < 4; tz += 3) {
+                for (int tx = -4; tx < 4; tx += 3) {
+                    assertArrayEquals(ChunkTileCache.computeTile(SlimeChunkOracle.Edition.JAVA, SEED, tx, tz),
+                        toArray(index.tile(tx, tz)));
+                }
+            }
+        }
+        try (SlimeIndexFile index = SlimeIndexFile.open(file, SEED, 4)) {
+            assertArrayEquals(ChunkTileCache.computeTile(SlimeChunkOracle.Edition.JAVA, SEED, -1, 2),
+                toArray(index.tile(-1, 2)));
+        }
+        assertThrows(IOException.class, () -> SlimeIndexFile.open(file, SEED + 1, 4));
+        assertThrows(IOException.class, () -> SlimeIndexFile.open(file, SEED, 5));
+    }
+
+    // 多个线程同时请求同一批瓦片，每个线程读到的都是完整数据
+    @Test
+    void concurrentReadersSeeCompleteTiles() throws Exception {
+        try (SlimeIndexFile index = SlimeIndexFile.open(dir.resolve("concurrent.slimeidx"), SEED, 8)) {
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    futures.add(executor.submit(() -> {
+                        for (int tz = -8; tz < 8; tz++) {
+                            for (int tx = -8; tx < 8; tx++) {
+                                assertArrayEquals(ChunkTileCache.computeTile(SlimeChunkOracle.Edition.JAVA, SEED, tx, tz),
+                                    toArray(index.tile(tx, tz)));
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.creatorcsie.slimemapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+// 两级前缀和统计出的区域与逐个区块枚举一致
+class SlimeRegionStatsTest {
+    private static final long SEED = 3141592653589793L;
+    private static final int MAX = SlimeChunkMapping.MAX_CHUNK;
+
+    // 按行优先顺序列出 [minX, maxX] x [minZ, maxZ] 内的全部史莱姆区块
+    private static List<Point> bruteForce(SlimeChunkOracle.Edition edition, long seed,
+                                          int minX, int minZ, int maxX, int maxZ) {
+        int width = maxX - minX + 1;
+        long[] bits = new long[SlimeChunkOracle.wordsFor(width, 1)];
+        List<Point> list = new ArrayList<>();
+        for (int z = minZ; z <= maxZ; z++) {
+            edition.fillRow(seed, z, minX, width, bits, 0);
+            for (int dx = 0; dx < width; dx++) {
+                if (SlimeChunkOracle.testBit(bits, dx)) {
+                    list.add(new Point(minX + dx, z));
+                }
+            }
+        }
+        return list;
+    }
+
+    private static void check(SlimeRegionStats stats, int x0, int z0, int x1, int z1, int maxListed) {
+        SlimeRegionStats.Region region = stats.query(SEED, x0, z0, x1, z1, maxListed, ForkJoinPool.commonPool());
+        int minX = Math.max(Math.min(x0, x1), -MAX);
+        int maxX = Math.min(Math.max(x0, x1), MAX);
+        int minZ = Math.max(Math.min(z0, z1), -MAX);
+        int maxZ = Math.min(Math.max(z0, z1), MAX);
+        List<Point> expected = bruteForce(SlimeChunkOracle.Edition.JAVA, SEED, minX, minZ, maxX, maxZ);
+        String where = "(" + x0 + ", " + z0 + ") - (" + x1 + ", " + z1 + ")";
+        assertEquals(minX, region.minChunkX, where);
+        assertEquals(maxZ, region.maxChunkZ, where);
+        assertEquals((long) (maxX - minX + 1) * (maxZ - minZ + 1), region.chunks, where);
+        assertEquals(expected.size(), region.slimeChunks, where);
+        assertEquals(expected.subList(0, Math.min(maxListed, expected.size())), region.slimeList, where);
+        assertEquals(expected.size() > maxListed, region.isTruncated(), where);
+    }
+
+    @Test
+    void regionsMatchBruteForce() {
+        SlimeRegionStats stats = new SlimeRegionStats(new ChunkTileCache(64L << 20, 1),
+            new SlimeDensityPyramid(new ChunkTileCache(64L << 20, 1), 8L << 20, 1), 8L << 20);
+        // 只有部分瓦片
+        check(stats, 5, 7, 40, 60, 1000);
+        check(stats, -30, -100, 90, -20, 1000);
+        // 完全覆盖的瓦片跨越前缀和块的边界（块宽 4096 个区块），角按相反顺序给出
+        check(stats, 150, 300, -70, 10, 50);
+        check(stats, -4200, -4163, -4000, -3900, 10);
+        // 超出世界边界的部分被截掉
+        check(stats, MAX - 130, -MAX - 40, MAX + 40, -MAX + 70, 1000);
+    }
+
+    // 前缀和在锁外构建：构建跨越版本切换时，它读到的密度块混合了两个版本，不能进入缓存
+    @Test
+    void editionSwitchDuringTableBuild() throws InterruptedException {
+        GatedTileCache tileCache = new GatedTileCache();
+        SlimeDensityPyramid pyramid = new SlimeDensityPyramid(tileCache, 8L << 20, 1);
+        SlimeRegionStats stats = new SlimeRegionStats(tileCache, pyramid, 8L << 20);
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            // 只含完整的瓦片，统计完全来自前缀和
+            Thread reader = new Thread(() -> stats.query(SEED, 0, 0, 127, 63, 0, pool));
+            reader.start();
+            assertTrue(tileCache.entered.await(10, TimeUnit.SECONDS));
+
+            tileCache.setEdition(SlimeChunkOracle.Edition.BEDROCK);
+            pyramid.invalidate();
+            stats.invalidate();
+            tileCache.release.countDown();
+            reader.join(30_000);
+
+            assertEquals(bruteForce(SlimeChunkOracle.Edition.BEDROCK, SEED, 0, 0, 127, 63).size(),
+                stats.query(SEED, 0, 0, 127, 63, 0, pool).slimeChunks);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.creatorcsie.slimemapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// 用一个预先选定的种子生成已知区块，检查低位筛选、按单元搜索、检查点的推进与保存
+class SlimeSeedRecoveryTest {
+    private static final long SEED = 0x5A3C_91F0_7E2BL;
+    private static final long LOW_MASK = (1L << SlimeSeedRecovery.LOW_BITS) - 1;
+
+    @TempDir
+    Path dir;
+
+    private final List<Point> slime = new ArrayList<>();
+    private final List<Point> normal = new ArrayList<>();
+
+    SlimeSeedRecoveryTest() {
+        // 附近区块中取 12 个史莱姆区块和 30 个非史莱姆区块
+        for (int z = -20; z < 20 && (slime.size() < 12 || normal.size() < 30); z++) {
+            for (int x = -20; x < 20; x++) {
+                List<Point> list = SlimeChunkOracle.isSlimeChunk(SEED, x, z) ? slime : normal;
+                if (list.size() < (list == slime ? 12 : 30)) {
+                    list.add(new Point(x, z));
+                }
+            }
+        }
+    }
+
+    private boolean consistent(long seed) {
+        for (Point p : slime) {
+            if (!SlimeChunkOracle.isSlimeChunk(seed, p.x, p.y)) {
+                return false;
+            }
+        }
+        for (Point p : normal) {
+            if (SlimeChunkOracle.isSlimeChunk(seed, p.x, p.y)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long unitOf(SlimeSeedRecovery recovery, long seed) {
+        int lowIndex = Arrays.binarySearch(recovery.lowCandidates, (int) (seed & LOW_MASK));
+        assertTrue(lowIndex >= 0, "low bits of " + seed + " were filtered out");
+        long high = seed >>> SlimeSeedRecovery.LOW_BITS;
+        return (long) lowIndex * SlimeSeedRecovery.UNITS_PER_LOW + (high >>> SlimeSeedRecovery.UNIT_BITS);
+    }
+
+    @Test
+    void lowBitFilterKeepsPlantedSeed() {
+        SlimeSeedRecovery recovery = new SlimeSeedRecovery(slime, normal);
+        assertTrue(Arrays.binarySearch(recovery.lowCandidates, (int) (SEED & LOW_MASK)) >= 0);
+        // 每个史莱姆区块约筛掉一半
+        assertTrue(recovery.getLowCandidates() < (1 << SlimeSeedRecovery.LOW_BITS) >> 8,
+            "low candidates " + recovery.getLowCandidates());
+        // 被筛掉的低位取值配上任意高位，都至少有一个已知史莱姆区块不成立
+        Random random = new Random(19);
+        int tested = 0;
+        while (tested < 300) {
+            long seed = random.nextLong() & SlimeChunkOracle.MASK;
+            if (Arrays.binarySearch(recovery.lowCandidates, (int) (seed & LOW_MASK)) >= 0) {
+                continue;
+            }
+            tested++;
+            assertFalse(consistent(seed), "seed " + seed);
+        }
+    }
+
+    @Test
+    void searchFindsPlantedSeedInItsUnit() throws InterruptedException {
+        SlimeSeedRecovery recovery = new SlimeSeedRecovery(slime, normal);
+        long unit = unitOf(recovery, SEED);
+        List<Long> reported = Collections.synchronizedList(new ArrayList<>());
+        recovery.search(unit, unit + 1, 2, reported::add);
+
+        assertTrue(recovery.getCandidates().contains(SEED), "candidates " + recovery.getCandidates());
+        assertTrue(reported.contains(SEED));
+        for (long seed : recovery.getCandidates()) {
+            assertTrue(consistent(seed), "seed " + seed);
+        }
+        assertEquals(unit + 1, recovery.getNextUnit());
+        assertEquals(1L << SlimeSeedRecovery.UNIT_BITS, recovery.getCheckedSeeds());
+    }
+
+    @Test
+    void nextUnitAdvancesOnlyOverCompletedPrefix() {
+        SlimeSeedRecovery recovery = new SlimeSeedRecovery(slime, normal);
+        recovery.unitDone(2);
+        recovery.unitDone(4);
+        assertEquals(0, recovery.getNextUnit());
+        recovery.unitDone(0);
+        assertEquals(1, recovery.getNextUnit());
+        recovery.unitDone(3);
+        assertEquals(1, recovery.getNextUnit());
+        recovery.unitDone(1);
+        assertEquals(5, recovery.getNextUnit());
+        recovery.unitDone(6);
+        assertEquals(5, recovery.getNextUnit());
+        recovery.unitDone(5);
+        assertEquals(7, recovery.getNextUnit());
+    }
+
+    @Test
+    void checkpointRoundTripsAndRejectsOtherInputs() throws IOException {
+        SlimeSeedRecovery recovery = new SlimeSeedRecovery(slime, normal);
+        for (int unit : new int[] {1, 0, 2, 5}) {
+            recovery.unitDone(unit);
+        }
+        recovery.addCandidates(List.of(SEED, 12345L));
+        Path checkpoint = dir.resolve("recover.properties");
+        recovery.saveCheckpoint(checkpoint);
+        assertFalse(Files.exists(dir.resolve("recover.properties.tmp")));
+
+        SlimeSeedRecovery resumed = new SlimeSeedRecovery(slime, normal);
+        assertEquals(3, resumed.loadCheckpoint(checkpoint));
+        assertEquals(3, resumed.getNextUnit());
+        assertEquals(List.of(12345L, SEED), resumed.getCandidates());
+
+        // 多一个非史莱姆区块，或史莱姆区块顺序不同，都不能沿用
+        List<Point> moreNormal = new ArrayList<>(normal);
+        moreNormal.add(new Point(1000, 1000));
+        SlimeSeedRecovery other = new SlimeSeedRecovery(slime, moreNormal);
+        assertThrows(IOException.class, () -> other.loadCheckpoint(checkpoint));
+        assertEquals(0, other.getNextUnit());
+        assertTrue(other.getCandidates().isEmpty());
+
+        List<Point> reordered = new ArrayList<>(slime);
+        Collections.reverse(reordered);
+        assertThrows(IOException.class, () -> new SlimeSeedRecovery(reordered, normal).loadCheckpoint(checkpoint));
+    }
+}
@@ -0,0 +1,89 @@
+package com.creatorcsie.slimemapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+// 预先算好坐标项的计数与逐个调用 SlimeChunkOracle.isSlimeChunk 一致，提前结束的判定在接受和拒绝的边界上都正确
+class SlimeSeedScannerTest {
+    private static final int MIN_X = -7;
+    private static final int MIN_Z = 3;
+    private static final int WIDTH = 12;
+    private static final int HEIGHT = 10;
+
+    private static int bruteCount(long seed, int minX, int minZ, int width, int height) {
+        int count = 0;
+        for (int dz = 0; dz < height; dz++) {
+            for (int dx = 0; dx < width; dx++) {
+                if (SlimeChunkOracle.isSlimeChunk(seed, minX + dx, minZ + dz)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Test
+    void countAndMatchesAgreeWithIsSlimeChunk() {
+        // 下标为 minCount：0 到区域大小 + 1
+        SlimeSeedScanner[] scanners = new SlimeSeedScanner[WIDTH * HEIGHT + 2];
+        for (int min = 0; min < scanners.length; min++) {
+            scanners[min] = new SlimeSeedScanner(MIN_X, MIN_Z, WIDTH, HEIGHT, min);
+        }
+        Random random = new Random(10);
+        for (int i = 0; i < 300; i++) {
+            long seed = random.nextLong();
+            int expected = bruteCount(seed, MIN_X, MIN_Z, WIDTH, HEIGHT);
+            assertEquals(expected, scanners[0].count(seed), "seed " + seed);
+            assertTrue(scanners[0].matches(seed));
+            assertTrue(scanners[expected].matches(seed), "seed " + seed + " min " + expected);
+            assertFalse(scanners[expected + 1].matches(seed), "seed " + seed + " min " + (expected + 1));
+            // 远离边界的阈值，覆盖两个方向的提前结束
+            int low = random.nextInt(expected + 1);
+            int high = expected + 1 + random.nextInt(scanners.length - expected - 1);
+            assertTrue(scanners[low].matches(seed));
+            assertFalse(scanners[high].matches(seed));
+        }
+    }
+
+    // scan 报告的正好是区间内计数不少于 minCount 的种子，计数与逐个统计相同
+    @Test
+    void scanReportsExactlyTheMatchingSeeds() throws InterruptedException {
+        long first = 9_000_000_000L;
+        int seeds = 20_000;
+        int minCount = 13;
+        Map<Long, Integer> expected = new TreeMap<>();
+        for (long seed = first; seed < first + seeds; seed++) {
+            int count = bruteCount(seed, 0, 0, 8, 8);
+            if (count >= minCount) {
+                expected.put(seed, count);
+            }
+        }
+        Map<Long, Integer> found = new TreeMap<>();
+        SlimeSeedScanner scanner = new SlimeSeedScanner(0, 0, 8, 8, minCount);
+        scanner.scan(first, seeds, 3, (seed, count) -> {
+            synchronized (found) {
+                found.put(seed, count);
+            }
+        });
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, found);
+        assertEquals(seeds, scanner.getCheckedSeeds());
+        assertEquals(expected.size(), scanner.getMatches());
+    }
+
+    @Test
+    void rejectsOversizedRegions() {
+        assertThrows(IllegalArgumentException.class, () -> new SlimeSeedScanner(0, 0, 50000, 50000, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SlimeSeedScanner(0, 0, SlimeSeedScanner.MAX_SIZE + 1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SlimeSeedScanner(0, 0, 0, 5, 1));
+        assertEquals(SlimeSeedScanner.MAX_SIZE * SlimeSeedScanner.MAX_SIZE,
+            new SlimeSeedScanner(0, 0, SlimeSeedScanner.MAX_SIZE, SlimeSeedScanner.MAX_SIZE, 1).getRegionSize());
+    }
+}
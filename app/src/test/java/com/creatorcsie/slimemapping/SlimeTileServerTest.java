@@ -0,0 +1,131 @@
+package com.creatorcsie.slimemapping;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// 经由 HTTP 取回的瓦片与 SlimeChunkOracle 逐区块判定一致，条件请求与越界坐标的状态码正确，并发请求同一瓦片只渲染一次
+class SlimeTileServerTest {
+    private static final long SEED = -4172144997902289642L;
+
+    private SlimeTileServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void start() throws IOException {
+        server = new SlimeTileServer(16L * 1024 * 1024, 16L * 1024 * 1024);
+        server.start(new InetSocketAddress("127.0.0.1", 0), 4);
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+    }
+
+    private HttpResponse<byte[]> get(String path, String ifNoneMatch) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+            URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path));
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    // 瓦片 (z, x, y) 的每个像素与其所在区块的判定结果比较
+    private void assertTileMatchesOracle(int z, int x, int y) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = get("/" + SEED + "/" + z + "/" + x + "/" + y + ".png", null);
+        assertEquals(200, response.statusCode());
+        assertEquals("image/png", response.headers().firstValue("Content-Type").orElse(null));
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(response.body()));
+        assertNotNull(image);
+        assertEquals(SlimeTileServer.TILE_PIXELS, image.getWidth());
+        assertEquals(SlimeTileServer.TILE_PIXELS, image.getHeight());
+
+        int tileShift = SlimeTileServer.WORLD_SHIFT - z;
+        int pixelShift = z - SlimeTileServer.CHUNK_ZOOM;
+        int minChunkX = (x << tileShift) - (1 << (SlimeTileServer.WORLD_SHIFT - 1));
+        int minChunkZ = (y << tileShift) - (1 << (SlimeTileServer.WORLD_SHIFT - 1));
+        int slime = SlimeChunkMapping.SLIME_COLOR.getRGB();
+        int normal = SlimeChunkMapping.NORMAL_COLOR.getRGB();
+        for (int py = 0; py < SlimeTileServer.TILE_PIXELS; py++) {
+            for (int px = 0; px < SlimeTileServer.TILE_PIXELS; px++) {
+                int chunkX = minChunkX + (px >> pixelShift);
+                int chunkZ = minChunkZ + (py >> pixelShift);
+                int expected = SlimeChunkOracle.isSlimeChunk(SEED, chunkX, chunkZ) ? slime : normal;
+                assertEquals(expected, image.getRGB(px, py), "z " + z + " pixel " + px + "," + py);
+            }
+        }
+    }
+
+    @Test
+    void tilesMatchOracle() throws IOException, InterruptedException {
+        // 一像素一区块，跨过原点：区块 x -256..-1，z 0..255
+        assertTileMatchesOracle(SlimeTileServer.CHUNK_ZOOM, (1 << 12) - 1, 1 << 12);
+        // 16 像素一区块：区块 x -16..-1，z 48..63
+        assertTileMatchesOracle(SlimeTileServer.MAX_ZOOM, (1 << 16) - 1, (1 << 16) + 3);
+    }
+
+    @Test
+    void conditionalAndOutOfRangeRequests() throws IOException, InterruptedException {
+        String path = "/" + SEED + "/13/4095/4096.png";
+        HttpResponse<byte[]> first = get(path, null);
+        assertEquals(200, first.statusCode());
+        String etag = first.headers().firstValue("ETag").orElse(null);
+        assertNotNull(etag);
+
+        HttpResponse<byte[]> cached = get(path, etag);
+        assertEquals(304, cached.statusCode());
+        assertEquals(0, cached.body().length);
+        assertEquals(200, get(path, "\"other\"").statusCode());
+
+        assertEquals(404, get("/" + SEED + "/13/8192/0.png", null).statusCode());
+        assertEquals(404, get("/" + SEED + "/13/0/8192.png", null).statusCode());
+        assertEquals(404, get("/" + SEED + "/0/1/0.png", null).statusCode());
+        assertEquals(404, get("/" + SEED + "/" + (SlimeTileServer.MAX_ZOOM + 1) + "/0/0.png", null).statusCode());
+        assertEquals(404, get("/" + SEED + "/13/0/0", null).statusCode());
+    }
+
+    @Test
+    void concurrentRequestsRenderOnce() throws Exception {
+        int threads = 16;
+        SlimeTileServer.TileRequest tile = new SlimeTileServer.TileRequest(SEED, SlimeTileServer.CHUNK_ZOOM, 100, 200);
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    go.await();
+                    return server.getPng(tile);
+                }));
+            }
+            go.countDown();
+            byte[] first = results.get(0).get();
+            for (Future<byte[]> result : results) {
+                assertArrayEquals(first, result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, server.getRenders());
+    }
+}
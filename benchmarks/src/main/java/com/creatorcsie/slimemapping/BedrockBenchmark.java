@@ -0,0 +1,87 @@
+package com.creatorcsie.slimemapping;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+// 基岩版判定：完整初始化 624 个状态字的 MT19937 与只计算第一个输出的实现（结果均为每区块耗时）
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BedrockBenchmark {
+    private static final int ROW = 1024;
+
+    private int chunkZ;
+    private long[] rowBits;
+
+    @Setup
+    public void setup() {
+        chunkZ = 12345;
+        rowBits = new long[ROW / 64];
+    }
+
+    // 标准 MT19937：每次新建时初始化全部状态，第一次取数时整体重排
+    static final class NaiveMersenneTwister {
+        private final int[] mt = new int[624];
+        private int index;
+
+        NaiveMersenneTwister(int seed) {
+            mt[0] = seed;
+            for (int i = 1; i < 624; i++) {
+                mt[i] = 1812433253 * (mt[i - 1] ^ (mt[i - 1] >>> 30)) + i;
+            }
+            index = 624;
+        }
+
+        int next() {
+            if (index >= 624) {
+                for (int i = 0; i < 624; i++) {
+                    int y = (mt[i] & 0x80000000) | (mt[(i + 1) % 624] & 0x7FFFFFFF);
+                    mt[i] = mt[(i + 397) % 624] ^ (y >>> 1) ^ ((y & 1) != 0 ? 0x9908B0DF : 0);
+                }
+                index = 0;
+            }
+            int y = mt[index++];
+            y ^= y >>> 11;
+            y ^= (y << 7) & 0x9D2C5680;
+            y ^= (y << 15) & 0xEFC60000;
+            return y ^ (y >>> 18);
+        }
+    }
+
+    static boolean naiveIsSlimeChunk(int chunkX, int chunkZ) {
+        int seed = (chunkX * 0x1F1F1F1F) ^ chunkZ;
+        return Integer.remainderUnsigned(new NaiveMersenneTwister(seed).next(), 10) == 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW)
+    public void naivePerChunk(Blackhole bh) {
+        for (int x = 0; x < ROW; x++) {
+            bh.consume(naiveIsSlimeChunk(x, chunkZ));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW)
+    public void oraclePerChunk(Blackhole bh) {
+        for (int x = 0; x < ROW; x++) {
+            bh.consume(SlimeChunkOracle.isBedrockSlimeChunk(x, chunkZ));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW)
+    public long[] oracleFillRow() {
+        SlimeChunkOracle.Edition.BEDROCK.fillRow(0, chunkZ, 0, ROW, rowBits, 0);
+        return rowBits;
+    }
+}
@@ -0,0 +1,68 @@
+package com.creatorcsie.slimemapping;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+// 单个区块判定：原始 new Random 实现、SlimeChunkOracle 标量实现、整行批量实现（结果均为每区块耗时）
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PredicateBenchmark {
+    private static final int ROW = 1024;
+
+    private long seed;
+    private int chunkZ;
+    private long[] rowBits;
+
+    @Setup
+    public void setup() {
+        seed = new Random(42).nextLong();
+        chunkZ = 12345;
+        rowBits = new long[ROW / 64];
+    }
+
+    // 重构前 SlimeChunkMapping.isSlimeChunk 的原始写法，作为基准
+    static boolean randomIsSlimeChunk(long worldSeed, int chunkX, int chunkZ) {
+        final long MAGIC_SEED = 987234911L;
+        long hash = worldSeed
+            + (chunkX * chunkX * 4987142L)
+            + (chunkX * 5947611L)
+            + (chunkZ * chunkZ * 4392871L)
+            + (chunkZ * 389711L);
+        hash = (hash ^ MAGIC_SEED);
+        return new Random(hash).nextInt(10) == 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW)
+    public void randomPerChunk(Blackhole bh) {
+        for (int x = 0; x < ROW; x++) {
+            bh.consume(randomIsSlimeChunk(seed, x, chunkZ));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW)
+    public void oraclePerChunk(Blackhole bh) {
+        for (int x = 0; x < ROW; x++) {
+            bh.consume(SlimeChunkOracle.isSlimeChunk(seed, x, chunkZ));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROW)
+    public long[] oracleFillRow() {
+        SlimeChunkOracle.fillRow(seed, chunkZ, 0, ROW, rowBits, 0);
+        return rowBits;
+    }
+}
@@ -0,0 +1,72 @@
+package com.creatorcsie.slimemapping;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// 不同视口尺寸和缩放下的 getVisibleChunks / fillChunkRaster；cached 为瓦片已缓存，否则每次清空缓存
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProviderBenchmark {
+    @Param({"800x600", "1920x1080", "3840x2160"})
+    public String viewport;
+
+    @Param({"0.25", "1.0", "4.0"})
+    public double scale;
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private ChunkTileCache tileCache;
+    private SlimeChunkProvider provider;
+    private double left, right, top, bottom;
+    private int minChunkX, minChunkZ, width, height;
+    private int[] argb;
+
+    @Setup
+    public void setup() {
+        String[] size = viewport.split("x");
+        int w = Integer.parseInt(size[0]);
+        int h = Integer.parseInt(size[1]);
+        tileCache = new ChunkTileCache(256L * 1024 * 1024);
+        provider = new SlimeChunkProvider(tileCache, false);
+        provider.setSeed(-4172144997902289642L);
+
+        // 视口中心位于世界原点，与 CoordinateSystem 的方块坐标换算一致
+        left = -w / 2.0 / scale;
+        right = w / 2.0 / scale;
+        top = -h / 2.0 / scale;
+        bottom = h / 2.0 / scale;
+        minChunkX = (int) Math.floor(left / 16);
+        minChunkZ = (int) Math.floor(top / 16);
+        width = (int) Math.floor(right / 16) - minChunkX + 1;
+        height = (int) Math.floor(bottom / 16) - minChunkZ + 1;
+        argb = new int[width * height];
+    }
+
+    @Benchmark
+    public List<CoordinateSystem.ChunkData> visibleChunks() {
+        if (!cached) {
+            tileCache.invalidate();
+        }
+        return provider.getVisibleChunks(left, right, top, bottom);
+    }
+
+    @Benchmark
+    public int[] chunkRaster() {
+        if (!cached) {
+            tileCache.invalidate();
+        }
+        provider.fillChunkRaster(minChunkX, minChunkZ, width, height, argb);
+        return argb;
+    }
+}
@@ -0,0 +1,64 @@
+package com.creatorcsie.slimemapping;
+
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+// 无界面环境下把 CoordinateSystem 整帧绘制到离屏 BufferedImage
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+    @Param({"800x600", "1920x1080"})
+    public String viewport;
+
+    @Param({"0.25", "1.0", "4.0"})
+    public double scale;
+
+    private CoordinateSystem coordSystem;
+    private BufferedImage frame;
+    private Graphics2D graphics;
+
+    @Setup
+    public void setup() {
+        String[] size = viewport.split("x");
+        int w = Integer.parseInt(size[0]);
+        int h = Integer.parseInt(size[1]);
+        SlimeChunkProvider provider = new SlimeChunkProvider(new ChunkTileCache(256L * 1024 * 1024), false);
+        provider.setSeed(-4172144997902289642L);
+
+        coordSystem = new CoordinateSystem();
+        coordSystem.setSize(w, h);
+        coordSystem.setChunkProvider(provider);
+        coordSystem.setChunkRasterProvider(provider);
+        coordSystem.setScale(scale);
+        coordSystem.setOffset(new Point(w / 2, h / 2));
+
+        frame = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        graphics = frame.createGraphics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paintComponent() {
+        coordSystem.paint(graphics);
+        return frame;
+    }
+}
@@ -0,0 +1,51 @@
+package com.creatorcsie.slimemapping;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+// 最近史莱姆区块查询，包含世界边界附近（±784426）的远距离坐标
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+    @Param({"0,0", "50000,-50000", "784426,-784426"})
+    public String chunk;
+
+    private long seed = -4172144997902289642L;
+
+    private int chunkX() {
+        return Integer.parseInt(chunk.split(",")[0]);
+    }
+
+    private int chunkZ() {
+        return Integer.parseInt(chunk.split(",")[1]);
+    }
+
+    @Benchmark
+    public Point nearest() {
+        // 每次换一个种子，避免重复命中同一结果
+        seed++;
+        return SlimeChunkSearch.nearest(seed, chunkX(), chunkZ(), false);
+    }
+
+    @Benchmark
+    public List<Point> nearest10() {
+        seed++;
+        return SlimeChunkSearch.nearest(seed, chunkX(), chunkZ(), 10, false);
+    }
+
+    @Benchmark
+    public Point nearestOutsideSpawn() {
+        seed++;
+        return SlimeChunkSearch.nearest(seed, chunkX(), chunkZ(), true);
+    }
+}
@@ -0,0 +1,89 @@
+package com.creatorcsie.slimemapping;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// 标量与向量整行判定的对比（需要 jdk.incubator.vector 模块）；导出条带和密集区搜索用于观察实际收益
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class VectorBenchmark {
+    private static final int ROW = 4096;
+    private static final int STRIP_ROWS = 64;
+
+    @Param({"scalar", "vector"})
+    public String kernel;
+
+    private SlimeChunkOracle.RowKernel rowKernel;
+    private long seed = -4172144997902289642L;
+    private long rowSeed;
+    private long[] rowBits;
+    private long[] stripBits;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        if ("vector".equals(kernel)) {
+            rowKernel = (SlimeChunkOracle.RowKernel) Class.forName("com.creatorcsie.slimemapping.SlimeChunkVectorKernel")
+                .getDeclaredConstructor().newInstance();
+        } else {
+            rowKernel = SlimeChunkOracle::fillRowScalar;
+        }
+        rowSeed = SlimeChunkOracle.rowSeed(seed, 3125);
+        rowBits = new long[ROW / 64];
+        stripBits = new long[ROW * STRIP_ROWS / 64];
+    }
+
+    // 每区块耗时
+    @Benchmark
+    @OperationsPerInvocation(ROW)
+    public long[] row() {
+        rowKernel.fillRow(rowSeed, -3125, ROW, rowBits, 0);
+        return rowBits;
+    }
+
+    // 导出时的一个条带（4096 x 64 区块），每区块耗时
+    @Benchmark
+    @OperationsPerInvocation(ROW * STRIP_ROWS)
+    public long[] exportStrip() {
+        for (int r = 0; r < STRIP_ROWS; r++) {
+            rowKernel.fillRow(SlimeChunkOracle.rowSeed(seed, r), -2048, ROW, stripBits, r * ROW);
+        }
+        return stripBits;
+    }
+
+    // 512 x 512 区块内的 8x8 密集区搜索，走全局选择的实现，靠进程参数切换
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public static class ClusterSearch {
+        @Benchmark
+        @Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Dslime.vector=false"})
+        public List<SlimeClusterFinder.Cluster> scalar() {
+            return search();
+        }
+
+        @Benchmark
+        @Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+        public List<SlimeClusterFinder.Cluster> vector() {
+            return search();
+        }
+
+        private static List<SlimeClusterFinder.Cluster> search() {
+            return new SlimeClusterFinder(-4172144997902289642L, SlimeClusterFinder.Shape.square(8), -256, -256, 255, 255, 10)
+                .search(ForkJoinPool.commonPool());
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.creatorcsie.slimemapping;
+
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// 以 (种子, 瓦片X, 瓦片Z) 为键缓存 64x64 区块的史莱姆位图，按内存上限做 LRU 淘汰；缓存中的瓦片都属于同一游戏版本
+// 瓦片以 LongBuffer 表示：内存中计算的瓦片包装 long[]，磁盘索引中的瓦片直接指向映射内存
+// 多个视图共用一个缓存：同一瓦片无论被多少个视图或线程请求都只计算一次，计算在锁外进行
+public class ChunkTileCache {
+    // 后台瓦片计算完成时回调（在工作线程中调用）
+    public interface TileListener {
+        void tileReady(long seed, int tileX, int tileZ);
+    }
+
+    public static final int TILE_SHIFT = 6;
+    public static final int TILE_SIZE = 1 << TILE_SHIFT;
+    public static final int TILE_MASK = TILE_SIZE - 1;
+    static final int TILE_WORDS = TILE_SIZE * TILE_SIZE / 64;
+
+    // 每个瓦片的估算内存：位图数组 + 数组头 + 键对象 + LinkedHashMap 节点
+    private static final long TILE_BYTES = TILE_WORDS * 8L + 16 + 32 + 48;
+
+    private final long maxBytes;
+    private final LinkedHashMap<TileKey, LongBuffer> tiles;
+    private final Map<TileKey, ForkJoinTask<?>> pending = new HashMap<>();
+    // 正在某个线程中同步计算的瓦片，其他线程请求同一瓦片时等待其结果
+    private final Map<TileKey, CompletableFuture<LongBuffer>> computing = new HashMap<>();
+    // computing 中已登记了完成通知的瓦片，非阻塞读取每帧都会询问同一瓦片，每次计算只登记一次
+    private final Set<TileKey> notifying = new HashSet<>();
+    // 各视图（以其 SlimeChunkProvider 为键）最近一次要求保留的后台任务范围
+    private final Map<Object, PendingRange> retained = new WeakHashMap<>();
+    private final ForkJoinPool pool;
+    private final List<TileListener> listeners = new CopyOnWriteArrayList<>();
+    private SlimeIndexFile index;
+    private SlimeChunkOracle.Edition edition = SlimeChunkOracle.Edition.JAVA;
+    // 每次清空缓存加一；键中不含游戏版本，计算开始时记下代数，完成时代数已变的结果直接丢弃
+    private long generation;
+    private long hits;
+    private long misses;
+    private long cancelled;
+
+    public ChunkTileCache(long maxBytes) {
+        this(maxBytes, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    // parallelism 为后台计算的线程数
+    ChunkTileCache(long maxBytes, int parallelism) {
+        this.maxBytes = Math.max(TILE_BYTES, maxBytes);
+        this.tiles = new LinkedHashMap<TileKey, LongBuffer>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TileKey, LongBuffer> eldest) {
+                return size() * TILE_BYTES > ChunkTileCache.this.maxBytes;
+            }
+        };
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public void addTileListener(TileListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeTileListener(TileListener listener) {
+        listeners.remove(listener);
+    }
+
+    // 设置磁盘索引（可为 null）；索引范围内、种子相同的瓦片从索引读取
+    public synchronized void setIndex(SlimeIndexFile index) {
+        this.index = index;
+    }
+
+    // 切换游戏版本，版本不同时清空缓存
+    public synchronized void setEdition(SlimeChunkOracle.Edition edition) {
+        if (this.edition != edition) {
+            invalidate();
+            this.edition = edition;
+        }
+    }
+
+    public synchronized SlimeChunkOracle.Edition getEdition() {
+        return edition;
+    }
+
+    // 取得瓦片位图，第 (localX, localZ) 个区块对应 bit localZ * TILE_SIZE + localX
+    // 未缓存时在当前线程计算；排队中的后台任务被取代，已有线程在算同一瓦片时等待它的结果
+    public LongBuffer getTile(long seed, int tileX, int tileZ) {
+        TileKey key = new TileKey(seed, tileX, tileZ);
+        CompletableFuture<LongBuffer> running;
+        CompletableFuture<LongBuffer> result = null;
+        ForkJoinTask<?> queued = null;
+        SlimeIndexFile source = null;
+        SlimeChunkOracle.Edition target = null;
+        long startGeneration = 0;
+        synchronized (this) {
+            LongBuffer bits = tiles.get(key);
+            if (bits != null) {
+                hits++;
+                return bits;
+            }
+            running = computing.get(key);
+            if (running == null) {
+                result = new CompletableFuture<>();
+                computing.put(key, result);
+                // 排队时已计入未命中
+                queued = pending.remove(key);
+                if (queued == null) {
+                    misses++;
+                }
+                source = index;
+                target = edition;
+                startGeneration = generation;
+            }
+        }
+        if (running != null) {
+            return running.join();
+        }
+        if (queued != null) {
+            queued.cancel(false);
+        }
+        LongBuffer bits;
+        try {
+            bits = loadTile(source, target, seed, tileX, tileZ);
+        } catch (RuntimeException | Error ex) {
+            synchronized (this) {
+                if (computing.remove(key, result)) {
+                    notifying.remove(key);
+                }
+            }
+            result.completeExceptionally(ex);
+            throw ex;
+        }
+        synchronized (this) {
+            // 计算期间清空过缓存时，computing 和 notifying 中的同一键已属于新一代的计算
+            if (computing.remove(key, result)) {
+                notifying.remove(key);
+            }
+            // 计算期间切换了游戏版本时结果只返回给调用方，不进入缓存
+            if (generation == startGeneration) {
+                tiles.put(key, bits);
+            }
+        }
+        result.complete(bits);
+        // 取代了某个视图排队的后台任务，照常通知它重绘
+        if (queued != null) {
+            notifyTileReady(key);
+        }
+        return bits;
+    }
+
+    // 只查缓存，不计算也不计入命中统计（供密度金字塔复用已算好的位图）
+    synchronized LongBuffer cachedTile(long seed, int tileX, int tileZ) {
+        return tiles.get(new TileKey(seed, tileX, tileZ));
+    }
+
+    // 非阻塞读取：已缓存则直接返回，否则提交到后台线程池计算并返回 null
+    public synchronized LongBuffer peekTile(long seed, int tileX, int tileZ) {
+        TileKey key = new TileKey(seed, tileX, tileZ);
+        LongBuffer bits = tiles.get(key);
+        if (bits != null) {
+            hits++;
+            return bits;
+        }
+        CompletableFuture<LongBuffer> running = computing.get(key);
+        if (running != null) {
+            // 其他线程正在同步计算，完成后通知请求方重绘
+            if (notifying.add(key)) {
+                running.thenRun(() -> notifyTileReady(key));
+            }
+            return null;
+        }
+        if (!pending.containsKey(key)) {
+            misses++;
+            SlimeIndexFile source = index;
+            SlimeChunkOracle.Edition target = edition;
+            long taskGeneration = generation;
+            pending.put(key, pool.submit(() -> computeAsync(key, source, target, taskGeneration)));
+        }
+        return null;
+    }
+
+    private void computeAsync(TileKey key, SlimeIndexFile source, SlimeChunkOracle.Edition edition, long taskGeneration) {
+        LongBuffer bits = loadTile(source, edition, key.seed, key.tileX, key.tileZ);
+        synchronized (this) {
+            // 旧版本的结果：pending 中的同一键（如果有）属于新一代的任务，不能被它移除
+            if (taskGeneration != generation) {
+                return;
+            }
+            // 已被取消（所有视图都已移开或换了种子）或被同步计算取代的瓦片直接丢弃
+            if (pending.remove(key) == null) {
+                return;
+            }
+            tiles.put(key, bits);
+        }
+        notifyTileReady(key);
+    }
+
+    private void notifyTileReady(TileKey key) {
+        for (TileListener listener : listeners) {
+            listener.tileReady(key.seed, key.tileX, key.tileZ);
+        }
+    }
+
+    // 记录 owner（一个视图）需要的范围 [minTileX, maxTileX] x [minTileZ, maxTileZ]，空范围表示不再需要；
+    // 取消不在任何视图范围内（或种子都不同）的后台任务，多个视图互不取消对方的任务
+    public synchronized void retainPending(Object owner, long seed, int minTileX, int minTileZ, int maxTileX, int maxTileZ) {
+        retained.put(owner, new PendingRange(seed, minTileX, minTileZ, maxTileX, maxTileZ));
+        Iterator<Map.Entry<TileKey, ForkJoinTask<?>>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<TileKey, ForkJoinTask<?>> entry = it.next();
+            if (!isRetained(entry.getKey())) {
+                entry.getValue().cancel(false);
+                it.remove();
+                cancelled++;
+            }
+        }
+    }
+
+    private boolean isRetained(TileKey key) {
+        for (PendingRange range : retained.values()) {
+            if (range.contains(key.seed, key.tileX, key.tileZ)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 优先从磁盘索引读取（首次访问时写入索引，索引只存 Java 版结果），索引不可用时在内存中计算
+    private static LongBuffer loadTile(SlimeIndexFile source, SlimeChunkOracle.Edition edition, long seed, int tileX, int tileZ) {
+        RenderStats.ComputeEvent event = new RenderStats.ComputeEvent();
+        event.begin();
+        LongBuffer bits = null;
+        if (source != null && source.getSeed() == seed && edition == SlimeChunkOracle.Edition.JAVA) {
+            try {
+                bits = source.tile(tileX, tileZ);
+            } catch (IOException ex) {
+                System.err.println("读取史莱姆索引失败: " + ex.getMessage());
+            }
+        }
+        String kind = bits != null ? "index" : edition == SlimeChunkOracle.Edition.BEDROCK ? "tile-bedrock" : "tile";
+        if (bits == null) {
+            bits = LongBuffer.wrap(computeTile(edition, seed, tileX, tileZ));
+        }
+        if (event.shouldCommit()) {
+            event.kind = kind;
+            event.seed = seed;
+            event.x = tileX;
+            event.z = tileZ;
+            event.chunks = TILE_SIZE * TILE_SIZE;
+            event.commit();
+        }
+        return bits;
+    }
+
+    static long[] computeTile(SlimeChunkOracle.Edition edition, long seed, int tileX, int tileZ) {
+        long[] bits = new long[TILE_WORDS];
+        edition.fillRect(seed, tileX << TILE_SHIFT, tileZ << TILE_SHIFT, TILE_SIZE, TILE_SIZE, bits);
+        return bits;
+    }
+
+    public boolean isSlimeChunk(long seed, int chunkX, int chunkZ) {
+        LongBuffer bits = getTile(seed, chunkX >> TILE_SHIFT, chunkZ >> TILE_SHIFT);
+        return testBit(bits, chunkX & TILE_MASK, chunkZ & TILE_MASK);
+    }
+
+    public static boolean testBit(LongBuffer tile, int localX, int localZ) {
+        int bit = (localZ << TILE_SHIFT) | localX;
+        return (tile.get(bit >>> 6) & (1L << bit)) != 0;
+    }
+
+    // 游戏版本变化时调用；瓦片以种子为键，换种子不必清空
+    public synchronized void invalidate() {
+        generation++;
+        tiles.clear();
+        // 正在同步计算的线程仍会把结果返回给自己的调用方，但新的请求不再等待旧版本的结果
+        computing.clear();
+        notifying.clear();
+        for (ForkJoinTask<?> task : pending.values()) {
+            task.cancel(false);
+        }
+        cancelled += pending.size();
+        pending.clear();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return tiles.size();
+    }
+
+    public synchronized String getStats() {
+        return String.format("瓦片缓存: %d 个 (%d KB), 命中 %d, 未命中 %d, 计算中 %d, 已取消 %d",
+                tiles.size(), tiles.size() * TILE_BYTES / 1024, hits, misses, pending.size(), cancelled);
+    }
+
+    // 某个视图要求保留的种子和范围（含端点）
+    private static final class PendingRange {
+        final long seed;
+        final int minX;
+        final int minZ;
+        final int maxX;
+        final int maxZ;
+
+        PendingRange(long seed, int minX, int minZ, int maxX, int maxZ) {
+            this.seed = seed;
+            this.minX = minX;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxZ = maxZ;
+        }
+
+        boolean contains(long seed, int x, int z) {
+            return this.seed == seed && x >= minX && x <= maxX && z >= minZ && z <= maxZ;
+        }
+    }
+
+    private static final class TileKey {
+        final long seed;
+        final int tileX;
+        final int tileZ;
+
+        TileKey(long seed, int tileX, int tileZ) {
+            this.seed = seed;
+            this.tileX = tileX;
+            this.tileZ = tileZ;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof TileKey)) {
+                return false;
+            }
+            TileKey other = (TileKey) o;
+            return seed == other.seed && tileX == other.tileX && tileZ == other.tileZ;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = Long.hashCode(seed);
+            h = h * 31 + tileX;
+            return h * 31 + tileZ;
+        }
+    }
+}
@@ -0,0 +1,1209 @@
+package com.creatorcsie.slimemapping;
+
+import javax.swing.*;
+import javax.swing.event.MouseInputAdapter;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class CoordinateSystem extends JComponent {
+	private static final int BASE_UNIT = 16;
+    private static final Color GRID_COLOR = new Color(200, 200, 200,100);
+    private static final Color AXIS_COLOR = new Color(80, 80, 80);
+    private static final Color CHUNK_BORDER_COLOR = new Color(80, 80, 80, 30);
+    
+    // 区块在屏幕上小于该像素数时改用栅格绘制
+    private static final double RASTER_CHUNK_PIXELS = 6.0;
+    // 区块小于一个像素时改画密度热力图，每个格子约占一个像素
+    private static final double DENSITY_CHUNK_PIXELS = 1.0;
+    // 网格虚线的周期（4 像素实线 + 4 像素空白）
+    private static final int DASH_PERIOD = 8;
+    // 局部重绘时刻度文字的额外范围
+    private static final int LABEL_MARGIN = 64;
+    
+    private ChunkProvider chunkProvider;
+    private ChunkRasterProvider chunkRasterProvider;
+    private DensityRasterProvider densityRasterProvider;
+    // 栅格路径的格子颜色和放大到屏幕后的图像，跨帧复用
+    private int[] cellRaster = new int[0];
+    private BufferedImage screenRaster;
+    private ViewportListener viewportListener;
+    // 挂机点覆盖热力图模式：区块不小于一个像素时改按覆盖数着色，鼠标悬停显示该区块的覆盖数
+    private CoverageProvider coverageProvider;
+    private boolean coverageMode;
+
+    // 分层缓存，平移时各层整体移动，只重绘新露出的边条：
+    // 区块层（背景 + 区块）取决于种子、缩放和平移；参考线层（网格、坐标轴、刻度，透明）只取决于缩放和平移；
+    // 两层合成到 mapBuffer。选中框和文字信息（HUD）每次绘制时直接画在最上层
+    private BufferedImage chunkLayer;
+    private BufferedImage guideLayer;
+    private BufferedImage mapBuffer;
+    private boolean chunkLayerValid;
+    private boolean guideLayerValid;
+    private Point layerOffset;
+    private double layerScale;
+    // 区块层中需要重绘的区域（图层坐标，即按 layerOffset 换算的屏幕坐标），如后台瓦片完成时；参考线层不受影响
+    private Rectangle chunkLayerDirty;
+    private Supplier<String> debugInfoSupplier;
+    // 分阶段耗时统计，按 F3 或以 -Dslime.renderStats=true 启动时显示在右上角
+    private final RenderStats renderStats = new RenderStats();
+    private boolean renderStatsVisible = Boolean.getBoolean("slime.renderStats");
+    private static final Color STATS_BACKGROUND = new Color(255, 255, 255, 200);
+    private Rectangle renderStatsBounds;
+
+    // 绘制用的字体和笔画只创建一次
+    private static final Font LABEL_FONT = new Font("Arial", Font.BOLD, 14); // 选择加粗且更大的字体
+    private static final Font DEBUG_FONT = new Font("微软雅黑", Font.PLAIN, 12);
+    private static final Font SELECTION_FONT = new Font("微软雅黑", Font.PLAIN, 14);
+    private static final Stroke DASHED_STROKE = new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL,
+            0, new float[]{DASH_PERIOD / 2}, 0);
+    private static final Stroke AXIS_STROKE = new BasicStroke(2);
+    private static final Color SELECTION_COLOR = new Color(255, 0, 0, 100);
+    private static final Color SELECTION_TEXT_COLOR = new Color(100, 100, 100); // 灰色字体
+    // 选中信息文字所在的顶部区域高度
+    private static final int SELECTION_TEXT_HEIGHT = 26;
+
+    // 刻度文字（方块坐标）的字形缓存，字体渲染上下文变化时清空
+    private static final int MAX_CACHED_LABELS = 1024;
+    private final LinkedHashMap<Integer, TickLabel> tickLabels = new LinkedHashMap<Integer, TickLabel>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, TickLabel> eldest) {
+            return size() > MAX_CACHED_LABELS;
+        }
+    };
+    private FontRenderContext tickLabelContext;
+
+    // HUD 文字只在缩放或视点变化时重新格式化
+    private String debugText;
+    private double debugTextScale;
+    private Point debugTextCenter;
+    
+    // 视图模型（视野中心、缩放、选中区块）是不可变状态，整体原子替换，可由多个视图共用、在任意线程修改；
+    // 下面的 scale / offset 是本视图在事件分派线程中按模型和自身尺寸换算出的显示状态，只整体替换，不原地修改
+    private ViewModel viewModel = new ViewModel();
+    private final ViewModel.Listener modelListener = state -> onModelChanged();
+    // 最近一次应用到显示状态的模型状态及当时的视图尺寸
+    private ViewModel.State appliedState;
+    private int appliedWidth;
+    private int appliedHeight;
+    // 当前显示的缩放和偏移（分层缓存按整数偏移平移）
+    private double scale = 1.0;
+    private Point offset = new Point(0, 0);
+
+    // 输入合并：拖动和滚轮只修改模型（double 精度，不会因取整漂移），
+    // 由 frameTimer 在每个显示帧最多应用一次并重绘；两帧之间到达的修改（包括其他视图的修改）合并到同一帧
+    private static final int FRAME_MS = 16;
+    private final Timer frameTimer = new Timer(FRAME_MS, e -> applyPendingView());
+    private boolean frameRequested;
+    // 平滑缩放：在对数尺度上从 zoomFromScale 插值到模型的缩放，锚点下的世界坐标随之线性插值；
+    // 中间帧把上次完整绘制的地图图像变换后显示，不重新计算区块，动画结束后才按最终缩放重画
+    private static final long ZOOM_ANIMATION_NANOS = 150_000_000L;
+    private static final double WHEEL_ZOOM_STEP = 1.1;
+    private long zoomStart = -1;
+    private double zoomFromScale;
+    private double zoomFromX;
+    private double zoomFromY;
+    private double zoomAnchorX;
+    private double zoomAnchorY;
+    // 缩放动画中间帧的精确偏移
+    private double previewX;
+    private double previewY;
+    private Point lastDragPoint;
+    // 小地图上用方框标出该视图的显示范围
+    private CoordinateSystem indicatedView;
+    // 小地图关闭滚轮缩放（缩放跟随主视图）和左下角的视点信息
+    private boolean wheelZoomEnabled = true;
+    private boolean hudVisible = true;
+    private static final Color INDICATOR_COLOR = new Color(220, 40, 40);
+
+    // 按住 Shift 拖动测量矩形区域：两个角的区块坐标，松开鼠标后交给 RegionMeasureListener 统计，Esc 清除
+    private Point measureStart;
+    private Point measureEnd;
+    private boolean measuring;
+    private String measureText;
+    private RegionMeasureListener measureListener;
+    private static final Color MEASURE_COLOR = new Color(0, 90, 200, 50);
+    private static final Color MEASURE_BORDER_COLOR = new Color(0, 90, 200);
+    private static final Color MEASURE_LABEL_BACKGROUND = new Color(255, 255, 255, 220);
+    
+    // 缩放限制
+    static final double MIN_SCALE = 0.001;
+    static final double MAX_SCALE = 10.0;
+
+    public CoordinateSystem() {
+        viewModel.addListener(modelListener);
+    	addComponentListener(new ComponentAdapter() {
+            public void componentResized(ComponentEvent e) {
+                // 尺寸变化时保持视野中心不变，按新尺寸重新换算偏移
+                if (getWidth() > 0 && getHeight() > 0) {
+                    applyState(viewModel.get(), false);
+                    repaint();
+                }
+            }
+        });
+    	addMouseWheelListener(e -> handleMouseWheel(e));
+        // 快捷键只作用于有焦点的视图（点击地图时获得焦点），主视图、小地图和对比视图各自响应
+        setFocusable(true);
+        getInputMap(WHEN_FOCUSED).put(KeyStroke.getKeyStroke("F3"), "toggleRenderStats");
+        getActionMap().put("toggleRenderStats", new AbstractAction() {
+            @Override
+            public void actionPerformed(java.awt.event.ActionEvent e) {
+                setRenderStatsVisible(!renderStatsVisible);
+            }
+        });
+        getInputMap(WHEN_FOCUSED).put(KeyStroke.getKeyStroke("ESCAPE"), "clearMeasurement");
+        getActionMap().put("clearMeasurement", new AbstractAction() {
+            @Override
+            public void actionPerformed(java.awt.event.ActionEvent e) {
+                clearMeasurement();
+            }
+        });
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                requestFocusInWindow();
+                lastDragPoint = e.getPoint();
+                if (SwingUtilities.isLeftMouseButton(e) && e.isShiftDown()) {
+                    measuring = true;
+                    measureStart = chunkAt(e.getPoint());
+                    measureEnd = measureStart;
+                    measureText = null;
+                    repaint();
+                }
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                if (measuring) {
+                    measuring = false;
+                    measureEnd = chunkAt(e.getPoint());
+                    repaint();
+                    if (measureListener != null) {
+                        measureListener.regionMeasured(Math.min(measureStart.x, measureEnd.x), Math.min(measureStart.y, measureEnd.y),
+                            Math.max(measureStart.x, measureEnd.x), Math.max(measureStart.y, measureEnd.y));
+                    }
+                }
+            }
+        });
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (SwingUtilities.isLeftMouseButton(e) && !e.isShiftDown()) {
+                    // 转换坐标：屏幕坐标 → 区块坐标；再次点击已选中的区块时取消选中
+                    Point chunk = chunkAt(e.getPoint());
+                    viewModel.update(s -> s.withSelection(chunk.equals(s.getSelectedChunk()) ? null : chunk));
+                }
+            }
+        });
+        addMouseMotionListener(new MouseInputAdapter() {
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (measuring) {
+                    measureEnd = chunkAt(e.getPoint());
+                    repaint();
+                    return;
+                }
+                Point current = e.getPoint();
+                int dx = current.x - lastDragPoint.x;
+                int dy = current.y - lastDragPoint.y;
+                lastDragPoint = current;
+                viewModel.update(s -> s.translate(dx, dy));
+            }
+        });
+    }
+    
+    public double getScale() {
+        return scale;
+    }
+    
+    public Point getOffset() {
+        return new Point(offset);
+    }
+
+    public ViewModel getViewModel() {
+        return viewModel;
+    }
+
+    // 改用另一个视图模型，共用同一模型的视图同步平移、缩放和选中
+    public void setViewModel(ViewModel model) {
+        viewModel.removeListener(modelListener);
+        viewModel = model;
+        viewModel.addListener(modelListener);
+        applyState(viewModel.get(), false);
+        repaint();
+    }
+
+    // 把视野中心移到世界坐标 (blockX, blockZ)
+    public void setCenter(double blockX, double blockZ) {
+        applyState(viewModel.update(s -> s.withCenter(blockX, blockZ)), false);
+        repaint();
+    }
+
+    // 当前显示的世界范围（方块单位）
+    public Rectangle2D getVisibleWorldBounds() {
+        return new Rectangle2D.Double(-offset.x / scale, -offset.y / scale, getWidth() / scale, getHeight() / scale);
+    }
+
+    public void setWheelZoomEnabled(boolean enabled) {
+        this.wheelZoomEnabled = enabled;
+    }
+
+    public void setHudVisible(boolean visible) {
+        this.hudVisible = visible;
+        repaint();
+    }
+
+    // 作为小地图时标出 view 的显示范围；view 平移缩放时由跟随的模型触发本视图重绘，尺寸变化时在这里重绘
+    public void setIndicatedView(CoordinateSystem view) {
+        this.indicatedView = view;
+        view.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                repaint();
+            }
+        });
+        repaint();
+    }
+
+    public interface ChunkProvider {
+        List<ChunkData> getVisibleChunks(double left, double right, double top, double bottom);
+    }
+    
+
+    // 栅格路径：按行优先把 [minChunkX, minChunkX+width) x [minChunkZ, minChunkZ+height) 的区块颜色（ARGB）写入 argb，0 为透明
+    public interface ChunkRasterProvider {
+        void fillChunkRaster(int minChunkX, int minChunkZ, int width, int height, int[] argb);
+    }
+
+    // 每次重绘地图层后通知当前可见的区块范围（含端点），densityLevel 为 0 表示未使用热力图
+    public interface ViewportListener {
+        void viewportChanged(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ, int densityLevel);
+    }
+
+    // Shift + 拖动测量出的区块范围（含端点），松开鼠标时通知
+    public interface RegionMeasureListener {
+        void regionMeasured(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ);
+    }
+
+    // 热力图路径：格子为 2^level x 2^level 个区块，第 (cellX, cellZ) 个格子覆盖区块 [cellX << level, (cellX + 1) << level)
+    public interface DensityRasterProvider {
+        // 0 表示不支持热力图
+        int getMaxDensityLevel();
+
+        void fillDensityRaster(int level, int minCellX, int minCellZ, int width, int height, int[] argb);
+    }
+
+    // 覆盖热力图：fillChunkRaster 写入每个区块的覆盖数颜色，coverageAt 返回单个区块的覆盖数，还没算好时返回 -1
+    public interface CoverageProvider extends ChunkRasterProvider {
+        int coverageAt(int chunkX, int chunkZ);
+    }
+
+    public static class ChunkData {
+        public final int x;      // 方块坐标起点X
+        public final int z;      // 方块坐标起点Z
+        public final int width;  // 宽度（方块单位）
+        public final int height; // 高度（方块单位）
+        public final Color color;
+
+        public ChunkData(int x, int z, int width, int height, Color color) {
+            this.x = x;
+            this.z = z;
+            this.width = width;
+            this.height = height;
+            this.color = color;
+        }
+    }
+    
+
+    public void setChunkProvider(ChunkProvider provider) {
+        this.chunkProvider = provider;
+    }
+
+    public void setChunkRasterProvider(ChunkRasterProvider provider) {
+        this.chunkRasterProvider = provider;
+    }
+
+    public void setDensityRasterProvider(DensityRasterProvider provider) {
+        this.densityRasterProvider = provider;
+    }
+
+    public void setCoverageProvider(CoverageProvider provider) {
+        this.coverageProvider = provider;
+    }
+
+    public void setCoverageMode(boolean enabled) {
+        if (coverageMode == enabled) {
+            return;
+        }
+        coverageMode = enabled;
+        if (enabled) {
+            ToolTipManager.sharedInstance().registerComponent(this);
+        } else {
+            ToolTipManager.sharedInstance().unregisterComponent(this);
+        }
+        invalidateMap();
+    }
+
+    public boolean isCoverageMode() {
+        return coverageMode;
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        if (!coverageMode || coverageProvider == null || usesDensityRaster()) {
+            return null;
+        }
+        Point chunk = chunkAt(e.getPoint());
+        int coverage = coverageProvider.coverageAt(chunk.x, chunk.y);
+        if (coverage < 0) {
+            return String.format("挂机点 (%d, %d)：计算中", chunk.x * 16 + 8, chunk.y * 16 + 8);
+        }
+        return String.format("挂机点 (%d, %d)：刷怪环内 %d 个史莱姆区块",
+            chunk.x * 16 + 8, chunk.y * 16 + 8, coverage);
+    }
+
+    public void setRenderStatsVisible(boolean visible) {
+        renderStatsVisible = visible;
+        repaint();
+    }
+
+    public void setViewportListener(ViewportListener listener) {
+        this.viewportListener = listener;
+    }
+
+    public void setRegionMeasureListener(RegionMeasureListener listener) {
+        this.measureListener = listener;
+    }
+
+    // 显示在测量框旁的统计结果；为 null 时只显示区域大小
+    public void setMeasureResult(String text) {
+        measureText = text;
+        repaint();
+    }
+
+    public void clearMeasurement() {
+        if (measureStart != null) {
+            measureStart = null;
+            measureEnd = null;
+            measuring = false;
+            measureText = null;
+            repaint();
+        }
+    }
+
+    private Point chunkAt(Point screen) {
+        return new Point((int) Math.floor((screen.x - offset.x) / (BASE_UNIT * scale)),
+            (int) Math.floor((screen.y - offset.y) / (BASE_UNIT * scale)));
+    }
+
+    // 区块数据整体改变（如种子变化）时调用，下次绘制时重画整个地图层
+    public void invalidateMap() {
+        chunkLayerValid = false;
+        repaint();
+    }
+
+    // 额外的调试信息（如缓存命中率），显示在左下角调试文本之上
+    public void setDebugInfoSupplier(Supplier<String> supplier) {
+        this.debugInfoSupplier = supplier;
+    }
+    
+    private int visibleLeft, visibleRight, visibleTop, visibleBottom;
+
+    public void setVisibleArea(int left, int right, int top, int bottom) {
+        this.visibleLeft = left;
+        this.visibleRight = right;
+        this.visibleTop = top;
+        this.visibleBottom = bottom;
+        revalidate();
+        repaint();
+    }
+
+    Rectangle visRect = new Rectangle(0, 0, getWidth(), getHeight());
+
+    // 按本视图的尺寸设置偏移（原点所在的屏幕位置），换算成视野中心写入模型
+    public void setOffset(Point offset) {
+        int halfWidth = getWidth() / 2;
+        int halfHeight = getHeight() / 2;
+        applyState(viewModel.update(s -> s.withCenter((halfWidth - offset.x) / s.getScale(), (halfHeight - offset.y) / s.getScale())), false);
+        chunkLayerValid = false;
+        guideLayerValid = false;
+        repaint();
+    }
+
+    // 以鼠标位置为锚点缩放；触控板的小数滚动量按比例缩放，放大再缩小回到原比例
+    private void handleMouseWheel(MouseWheelEvent e) {
+        if (!wheelZoomEnabled) {
+            return;
+        }
+        double factor = Math.pow(WHEEL_ZOOM_STEP, -e.getPreciseWheelRotation());
+        double anchorX = e.getX() - getWidth() / 2;
+        double anchorY = e.getY() - getHeight() / 2;
+        viewModel.update(s -> {
+            double newScale = clampScale(s.getScale() * factor);
+            return newScale == s.getScale() ? s : s.zoomAround(anchorX, anchorY, newScale);
+        });
+    }
+
+    // 模型可能在任意线程中修改，统一转到事件分派线程，在下一个显示帧应用
+    private void onModelChanged() {
+        if (SwingUtilities.isEventDispatchThread()) {
+            requestFrame();
+        } else {
+            SwingUtilities.invokeLater(this::requestFrame);
+        }
+    }
+
+    // 模型中心在本视图中对应的原点屏幕位置
+    private double targetOffsetX(ViewModel.State state) {
+        return getWidth() / 2 - state.getCenterX() * state.getScale();
+    }
+
+    private double targetOffsetY(ViewModel.State state) {
+        return getHeight() / 2 - state.getCenterZ() * state.getScale();
+    }
+
+    // 把模型状态应用到显示状态，返回显示的视图是否改变（只有选中变化时只重绘选中框）；
+    // smooth 为 true 且模型的缩放以动画方式改变时，从当前显示的状态开始缩放动画
+    private boolean applyState(ViewModel.State state, boolean smooth) {
+        ViewModel.State previous = appliedState;
+        boolean resized = getWidth() != appliedWidth || getHeight() != appliedHeight;
+        appliedState = state;
+        appliedWidth = getWidth();
+        appliedHeight = getHeight();
+        if (previous != null && !previous.sameSelection(state)) {
+            repaintSelection(previous.getSelectedChunk());
+        }
+        if (previous != null && !resized && previous.getCenterX() == state.getCenterX()
+                && previous.getCenterZ() == state.getCenterZ() && previous.getScale() == state.getScale()) {
+            return false;
+        }
+        if (smooth && previous != null && !resized && state.isAnimated() && previous.getScale() != state.getScale()) {
+            // 锚点为前后两个目标视图中世界坐标相同的屏幕位置（滚轮缩放时即鼠标位置），从当前显示的状态开始新的动画
+            double s0 = previous.getScale();
+            double s1 = state.getScale();
+            zoomAnchorX = (s1 * targetOffsetX(previous) - s0 * targetOffsetX(state)) / (s1 - s0);
+            zoomAnchorY = (s1 * targetOffsetY(previous) - s0 * targetOffsetY(state)) / (s1 - s0);
+            zoomFromScale = scale;
+            zoomFromX = zoomStart >= 0 ? previewX : offset.x;
+            zoomFromY = zoomStart >= 0 ? previewY : offset.y;
+            zoomStart = System.nanoTime();
+            return true;
+        }
+        if (smooth && previous != null && !resized && zoomStart >= 0 && previous.getScale() == state.getScale()) {
+            // 缩放动画进行中时平移，起点一起平移，动画不会跳动
+            zoomFromX += targetOffsetX(state) - targetOffsetX(previous);
+            zoomFromY += targetOffsetY(state) - targetOffsetY(previous);
+            return true;
+        }
+        zoomStart = -1;
+        scale = state.getScale();
+        offset = new Point((int) Math.round(targetOffsetX(state)), (int) Math.round(targetOffsetY(state)));
+        return true;
+    }
+
+    // 请求在下一个显示帧应用目标视图；已有待绘制的帧时本次输入并入该帧
+    private void requestFrame() {
+        if (frameRequested) {
+            renderStats.frameSkipped();
+            return;
+        }
+        frameRequested = true;
+        if (!frameTimer.isRunning()) {
+            frameTimer.start();
+        }
+    }
+
+    private void applyPendingView() {
+        boolean animating = zoomStart >= 0;
+        if (!frameRequested && !animating) {
+            frameTimer.stop();
+            return;
+        }
+        frameRequested = false;
+        ViewModel.State state = viewModel.get();
+        boolean changed = state != appliedState && applyState(state, true);
+        if (zoomStart < 0) {
+            if (changed) {
+                repaint();
+            }
+            return;
+        }
+        double targetScale = state.getScale();
+        double t = Math.min(1.0, (System.nanoTime() - zoomStart) / (double) ZOOM_ANIMATION_NANOS);
+        if (t >= 1.0) {
+            zoomStart = -1;
+            scale = targetScale;
+            offset = new Point((int) Math.round(targetOffsetX(state)), (int) Math.round(targetOffsetY(state)));
+        } else {
+            // 先快后慢
+            double eased = 1 - (1 - t) * (1 - t);
+            double s = zoomFromScale * Math.pow(targetScale / zoomFromScale, eased);
+            double fromWorldX = (zoomAnchorX - zoomFromX) / zoomFromScale;
+            double fromWorldY = (zoomAnchorY - zoomFromY) / zoomFromScale;
+            double toWorldX = (zoomAnchorX - targetOffsetX(state)) / targetScale;
+            double toWorldY = (zoomAnchorY - targetOffsetY(state)) / targetScale;
+            previewX = zoomAnchorX - (fromWorldX + (toWorldX - fromWorldX) * eased) * s;
+            previewY = zoomAnchorY - (fromWorldY + (toWorldY - fromWorldY) * eased) * s;
+            scale = s;
+            offset = new Point((int) Math.round(previewX), (int) Math.round(previewY));
+        }
+        repaint();
+    }
+
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (getWidth() <= 0 || getHeight() <= 0) {
+            return;
+        }
+        // 首次绘制或尺寸变化后还没有按当前尺寸换算过偏移
+        if (appliedState == null || getWidth() != appliedWidth || getHeight() != appliedHeight) {
+            applyState(viewModel.get(), false);
+        }
+        Graphics2D g2d = (Graphics2D) g.create();
+        renderStats.beginFrame();
+
+        // 1~4. 背景、区块、网格、坐标轴都在分层缓存中，只补画变化的部分；缩放动画的中间帧只变换上次的结果
+        if (zoomStart >= 0 && mapBuffer != null && layerOffset != null
+                && mapBuffer.getWidth() == getWidth() && mapBuffer.getHeight() == getHeight()) {
+            drawZoomPreview(g2d);
+        } else {
+            updateLayers();
+            g2d.drawImage(mapBuffer, 0, 0, null);
+        }
+        
+        Point selected = appliedState.getSelectedChunk();
+        if (selected != null) {
+            long start = System.nanoTime();
+            drawSelectedCoord(g2d, selected);
+            renderStats.add(RenderStats.Phase.SELECTION, start);
+        }
+        if (indicatedView != null) {
+            drawViewIndicator(g2d);
+        }
+        if (measureStart != null) {
+            drawMeasurement(g2d);
+        }
+        renderStats.endFrame(scale);
+        
+        if (hudVisible) {
+            drawDebugInfo(g2d);
+        }
+        if (renderStatsVisible) {
+            drawRenderStats(g2d);
+        }
+        
+        g2d.dispose();
+    }
+    
+    // 上次完整绘制时屏幕坐标 p 对应世界坐标 (p - layerOffset) / layerScale，按当前缩放和偏移映射回屏幕
+    private void drawZoomPreview(Graphics2D g) {
+        double k = scale / layerScale;
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, getWidth(), getHeight());
+        AffineTransform transform = new AffineTransform();
+        transform.translate(previewX - layerOffset.x * k, previewY - layerOffset.y * k);
+        transform.scale(k, k);
+        g.drawImage(mapBuffer, transform, null);
+        renderStats.zoomPreviewDrawn();
+    }
+
+    // 缩放、尺寸变化或被标记失效时整体重画；只有平移时把各层移动 (dx, dy)，补画露出的 L 形边条
+    private void updateLayers() {
+        int width = getWidth();
+        int height = getHeight();
+        Rectangle full = new Rectangle(0, 0, width, height);
+        if (mapBuffer == null || mapBuffer.getWidth() != width || mapBuffer.getHeight() != height) {
+            chunkLayer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            guideLayer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            mapBuffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            chunkLayerValid = false;
+            guideLayerValid = false;
+        }
+        int dx = layerOffset == null ? 0 : offset.x - layerOffset.x;
+        int dy = layerOffset == null ? 0 : offset.y - layerOffset.y;
+        if (layerOffset == null || layerScale != scale || Math.abs(dx) >= width || Math.abs(dy) >= height) {
+            chunkLayerValid = false;
+            guideLayerValid = false;
+        }
+        boolean shifted = (dx != 0 || dy != 0) && chunkLayerValid && guideLayerValid;
+        List<Rectangle> strips = shifted ? exposedStrips(dx, dy, width, height) : List.of();
+        // 需要重新合成的区域；fullCompose 为 true 时合成整个窗口
+        boolean fullCompose = !chunkLayerValid || !guideLayerValid;
+        List<Rectangle> compose = new ArrayList<>(strips);
+
+        if (!chunkLayerValid) {
+            renderChunkLayer(full);
+            chunkLayerDirty = null;
+        } else {
+            if (shifted) {
+                shiftLayer(chunkLayer, dx, dy);
+                for (Rectangle strip : strips) {
+                    renderChunkLayer(strip);
+                }
+                if (chunkLayerDirty != null) {
+                    chunkLayerDirty.translate(dx, dy);
+                }
+            }
+            if (chunkLayerDirty != null) {
+                Rectangle dirty = chunkLayerDirty.intersection(full);
+                chunkLayerDirty = null;
+                if (!dirty.isEmpty()) {
+                    renderChunkLayer(dirty);
+                    compose.add(dirty);
+                }
+            }
+        }
+
+        if (!guideLayerValid) {
+            renderGuideLayer(full);
+        } else if (shifted) {
+            shiftLayer(guideLayer, dx, dy);
+            for (Rectangle strip : strips) {
+                renderGuideLayer(strip);
+            }
+        }
+
+        if (fullCompose) {
+            composeLayers(full);
+        } else {
+            if (shifted) {
+                shiftLayer(mapBuffer, dx, dy);
+            }
+            for (Rectangle region : compose) {
+                composeLayers(region);
+            }
+        }
+        layerOffset = new Point(offset);
+        layerScale = scale;
+        chunkLayerValid = true;
+        guideLayerValid = true;
+        notifyViewport(full);
+    }
+
+    // 竖条覆盖整列高度，横条去掉与竖条重叠的部分
+    private static List<Rectangle> exposedStrips(int dx, int dy, int width, int height) {
+        List<Rectangle> strips = new ArrayList<>(2);
+        if (dx != 0) {
+            strips.add(new Rectangle(dx > 0 ? 0 : width + dx, 0, Math.abs(dx), height));
+        }
+        if (dy != 0) {
+            strips.add(new Rectangle(dx > 0 ? dx : 0, dy > 0 ? 0 : height + dy, width - Math.abs(dx), Math.abs(dy)));
+        }
+        return strips;
+    }
+
+    private static void shiftLayer(BufferedImage layer, int dx, int dy) {
+        Graphics2D g = layer.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.copyArea(0, 0, layer.getWidth(), layer.getHeight(), dx, dy);
+        g.dispose();
+    }
+
+    // 只计算并绘制 region 内的区块
+    private void renderChunkLayer(Rectangle region) {
+        Graphics2D g = chunkLayer.createGraphics();
+        g.clip(region);
+        g.setColor(Color.WHITE);
+        g.fillRect(region.x, region.y, region.width, region.height);
+        long start = System.nanoTime();
+        drawChunks(g, region);
+        renderStats.add(RenderStats.Phase.CHUNKS, start);
+        renderStats.addPixels((long) region.width * region.height);
+        g.dispose();
+    }
+
+    // 清空 region 后重画其中的网格、坐标轴和刻度
+    private void renderGuideLayer(Rectangle region) {
+        Graphics2D g = guideLayer.createGraphics();
+        g.clip(region);
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(region.x, region.y, region.width, region.height);
+        g.setComposite(AlphaComposite.SrcOver);
+        long start = System.nanoTime();
+        drawGrid(g, region);
+        renderStats.add(RenderStats.Phase.GRID, start);
+        start = System.nanoTime();
+        drawAxis(g, region);
+        renderStats.add(RenderStats.Phase.AXIS, start);
+        g.dispose();
+    }
+
+    private void composeLayers(Rectangle region) {
+        Graphics2D g = mapBuffer.createGraphics();
+        int x2 = region.x + region.width;
+        int y2 = region.y + region.height;
+        g.drawImage(chunkLayer, region.x, region.y, x2, y2, region.x, region.y, x2, y2, null);
+        g.drawImage(guideLayer, region.x, region.y, x2, y2, region.x, region.y, x2, y2, null);
+        g.dispose();
+    }
+
+    // 选中变化时只重绘新旧选中框和顶部的选中信息文字，地图各层保持不变
+    private void repaintSelection(Point previous) {
+        repaint(0, 0, getWidth(), SELECTION_TEXT_HEIGHT);
+        if (previous != null) {
+            repaint(selectionBounds(previous));
+        }
+        Point selected = appliedState.getSelectedChunk();
+        if (selected != null) {
+            repaint(selectionBounds(selected));
+        }
+        if (renderStatsVisible && renderStatsBounds != null) {
+            repaint(renderStatsBounds);
+        }
+    }
+
+    private Rectangle selectionBounds(Point chunk) {
+        int x = (int) (chunk.x * 16 * scale + offset.x);
+        int z = (int) (chunk.y * 16 * scale + offset.y);
+        int size = (int) (16 * scale);
+        return new Rectangle(x - 1, z - 1, size + 2, size + 2);
+    }
+
+    private void notifyViewport(Rectangle visRect) {
+        if (viewportListener == null) {
+            return;
+        }
+        double chunkPixels = BASE_UNIT * scale;
+        viewportListener.viewportChanged(
+            (int) Math.floor((visRect.x - offset.x) / chunkPixels),
+            (int) Math.floor((visRect.y - offset.y) / chunkPixels),
+            (int) Math.floor((visRect.x + visRect.width - offset.x) / chunkPixels),
+            (int) Math.floor((visRect.y + visRect.height - offset.y) / chunkPixels),
+            usesDensityRaster() ? densityLevel() : 0);
+    }
+
+    // 右上角的统计覆盖层（最近若干帧的 p50 / p99）
+    private void drawRenderStats(Graphics2D g) {
+        List<String> lines = renderStats.summary();
+        if (lines.isEmpty()) {
+            return;
+        }
+        g.setFont(DEBUG_FONT);
+        FontMetrics fm = g.getFontMetrics();
+        int textWidth = 0;
+        for (String line : lines) {
+            textWidth = Math.max(textWidth, fm.stringWidth(line));
+        }
+        int lineHeight = fm.getHeight();
+        int x = getWidth() - textWidth - 16;
+        int y = 8;
+        renderStatsBounds = new Rectangle(x - 6, y, textWidth + 12, lineHeight * lines.size() + 8);
+        g.setColor(STATS_BACKGROUND);
+        g.fill(renderStatsBounds);
+        g.setColor(Color.BLACK);
+        for (int i = 0; i < lines.size(); i++) {
+            g.drawString(lines.get(i), x, y + 4 + fm.getAscent() + i * lineHeight);
+        }
+    }
+
+    private void drawDebugInfo(Graphics2D g) {
+    	// 设置字体
+        g.setFont(DEBUG_FONT);
+        g.setColor(Color.BLACK);
+        Point centerWorld = screenToWorld(getWidth()/2, getHeight()/2);
+        
+        // 获取当前缩放倍数和视点坐标
+        if (debugText == null || debugTextScale != scale || !centerWorld.equals(debugTextCenter)) {
+            debugText = String.format("缩放倍数: %.2f, 视点坐标: (%d, %d)", scale, centerWorld.x, centerWorld.y);
+            debugTextScale = scale;
+            debugTextCenter = centerWorld;
+        }
+        
+        // 绘制调试信息
+        g.drawString(debugText, 10, getHeight() - 10);  // 距离底部10像素位置
+        
+        if (debugInfoSupplier != null) {
+            String extraText = debugInfoSupplier.get();
+            if (extraText != null) {
+                g.drawString(extraText, 10, getHeight() - 26);
+            }
+        }
+    }
+    
+
+    private void drawGrid(Graphics2D g, Rectangle visRect) {
+        g.setColor(GRID_COLOR);
+        Stroke oldStroke = g.getStroke();
+        g.setStroke(DASHED_STROKE);
+        
+        double[] visibleArea = calculateVisibleArea(visRect);
+        
+        int step = calculateGridStep();
+        int startX = (int) (Math.floor(visibleArea[0] / step) * step);
+        int endX = (int) (Math.ceil(visibleArea[1] / step) * step);
+        int startZ = (int) (Math.floor(visibleArea[2] / step) * step);
+        int endZ = (int) (Math.ceil(visibleArea[3] / step) * step);
+
+        // 绘制水平网格
+        for (int x = startX; x <= endX; x += step) {
+            int screenX = (int) Math.floor(x * BASE_UNIT * scale + offset.x);
+            g.drawLine(screenX, dashStart(offset.y), screenX, getHeight());
+        }
+
+        // 绘制垂直网格
+        for (int z = startZ; z <= endZ; z += step) {
+            int screenZ = (int) Math.floor(z * BASE_UNIT * scale + offset.y);
+            g.drawLine(dashStart(offset.x), screenZ, getWidth(), screenZ);
+        }
+        g.setStroke(oldStroke);
+    }
+    
+
+    // 虚线从与原点对齐的位置开始，平移后分段补画的网格线与移动过来的部分相位一致
+    private static int dashStart(int origin) {
+        return Math.floorMod(origin, DASH_PERIOD) - DASH_PERIOD;
+    }
+
+    private void drawAxis(Graphics2D g, Rectangle visRect) {
+        g.setColor(AXIS_COLOR);
+        g.setStroke(AXIS_STROKE);
+        
+        // 计算原点在屏幕上的位置
+        int originX = (int) offset.x;
+        int originZ = (int) offset.y;
+        
+        // 绘制X轴（水平轴）
+        g.drawLine(0, originZ, getWidth(), originZ);
+        
+        // 绘制Z轴（垂直轴）
+        g.drawLine(originX, 0, originX, getHeight());
+        
+        // 绘制刻度
+        drawAxisTicks(g, originX, originZ, visRect);
+    }
+
+    private void drawAxisTicks(Graphics2D g, int originX, int originZ, Rectangle visRect) {
+        // 向外多取一段，跨过区域边界的刻度文字也能补画完整
+        Rectangle labelRect = new Rectangle(visRect);
+        labelRect.grow(LABEL_MARGIN, LABEL_MARGIN);
+        double[] visibleArea = calculateVisibleArea(labelRect);
+        int step = calculateGridStep();
+        
+        // X轴刻度
+        int startX = (int) (Math.floor(visibleArea[0] / step) * step);
+        int endX = (int) (Math.ceil(visibleArea[1] / step) * step);
+        for (int x = startX; x <= endX; x += step) {
+            int screenX = (int) Math.floor(x * BASE_UNIT * scale + offset.x);
+            g.drawLine(screenX, originZ - 3, screenX, originZ + 3);
+            drawCenteredLabel(g, x * 16, screenX, originZ + 15);
+        }
+
+        // Z轴刻度
+        int startZ = (int) (Math.floor(visibleArea[2] / step) * step);
+        int endZ = (int) (Math.ceil(visibleArea[3] / step) * step);
+        for (int z = startZ; z <= endZ; z += step) {
+            int screenZ = (int) Math.floor(z * BASE_UNIT * scale + offset.y);
+            g.drawLine(originX - 3, screenZ, originX + 3, screenZ);
+            drawCenteredLabel(g, z * 16, originX - 10, screenZ - 5);
+        }
+    }
+    
+    private void drawSelectedCoord(Graphics2D g2d, Point selected) {
+        g2d.setColor(SELECTION_COLOR);
+        
+        // 计算选中区块的屏幕坐标
+        int x = (int) (selected.x * 16 * scale + offset.x);
+        int z = (int) (selected.y * 16 * scale + offset.y);
+        int size = (int) (16 * scale);
+        
+        // 绘制半透明红色覆盖层
+        g2d.fillRect(x, z, size, size);
+        
+        g2d.setColor(SELECTION_TEXT_COLOR);
+        g2d.setFont(SELECTION_FONT);
+        
+        // 绘制坐标文本
+        String coordText = String.format("已选中区域坐标：(%d, %d) 区块坐标：(%d,%d)", 
+                selected.x * 16, 
+                selected.y * 16,
+                selected.x,
+                selected.y
+                );
+            
+        g2d.drawString(coordText, 10, 20);
+    }
+
+    // 另一个视图的显示范围；与测量框一样先截到窗口内再换成整数
+    private void drawViewIndicator(Graphics2D g2d) {
+        Rectangle2D bounds = indicatedView.getVisibleWorldBounds();
+        int x1 = (int) Math.floor(Math.max(-1, Math.min(getWidth() + 1, offset.x + bounds.getMinX() * scale)));
+        int x2 = (int) Math.floor(Math.max(-1, Math.min(getWidth() + 1, offset.x + bounds.getMaxX() * scale)));
+        int z1 = (int) Math.floor(Math.max(-1, Math.min(getHeight() + 1, offset.y + bounds.getMinY() * scale)));
+        int z2 = (int) Math.floor(Math.max(-1, Math.min(getHeight() + 1, offset.y + bounds.getMaxY() * scale)));
+        g2d.setColor(INDICATOR_COLOR);
+        g2d.setStroke(AXIS_STROKE);
+        g2d.drawRect(x1, z1, Math.max(1, x2 - x1), Math.max(1, z2 - z1));
+    }
+
+    // 测量框和统计结果；框外部分截到窗口内，避免远处的角换算成屏幕坐标时溢出
+    private void drawMeasurement(Graphics2D g2d) {
+        double chunkPixels = BASE_UNIT * scale;
+        int minX = Math.min(measureStart.x, measureEnd.x);
+        int maxX = Math.max(measureStart.x, measureEnd.x);
+        int minZ = Math.min(measureStart.y, measureEnd.y);
+        int maxZ = Math.max(measureStart.y, measureEnd.y);
+        int x1 = (int) Math.floor(Math.max(-1, Math.min(getWidth() + 1, offset.x + minX * chunkPixels)));
+        int x2 = (int) Math.floor(Math.max(-1, Math.min(getWidth() + 1, offset.x + (maxX + 1.0) * chunkPixels)));
+        int z1 = (int) Math.floor(Math.max(-1, Math.min(getHeight() + 1, offset.y + minZ * chunkPixels)));
+        int z2 = (int) Math.floor(Math.max(-1, Math.min(getHeight() + 1, offset.y + (maxZ + 1.0) * chunkPixels)));
+        int w = Math.max(1, x2 - x1);
+        int h = Math.max(1, z2 - z1);
+        g2d.setColor(MEASURE_COLOR);
+        g2d.fillRect(x1, z1, w, h);
+        g2d.setColor(MEASURE_BORDER_COLOR);
+        g2d.drawRect(x1, z1, w - 1, h - 1);
+
+        String text = String.format("%d x %d 区块", (long) maxX - minX + 1, (long) maxZ - minZ + 1);
+        if (measureText != null) {
+            text = text + "，" + measureText;
+        } else if (!measuring) {
+            text = text + "，统计中...";
+        }
+        g2d.setFont(SELECTION_FONT);
+        FontMetrics fm = g2d.getFontMetrics();
+        int textWidth = fm.stringWidth(text);
+        int labelX = Math.max(4, Math.min(getWidth() - textWidth - 8, x1));
+        int labelY = Math.max(SELECTION_TEXT_HEIGHT, z1 - fm.getHeight() - 6);
+        g2d.setColor(MEASURE_LABEL_BACKGROUND);
+        g2d.fillRect(labelX, labelY, textWidth + 8, fm.getHeight() + 4);
+        g2d.setColor(MEASURE_BORDER_COLOR);
+        g2d.drawString(text, labelX + 4, labelY + 2 + fm.getAscent());
+    }
+
+    // 以 (x, y) 为基线中点绘制刻度文字，字形和宽度来自缓存
+    private void drawCenteredLabel(Graphics2D g, int value, int x, int y) {
+        FontRenderContext context = g.getFontRenderContext();
+        if (!context.equals(tickLabelContext)) {
+            tickLabels.clear();
+            tickLabelContext = context;
+        }
+        TickLabel label = tickLabels.computeIfAbsent(value, v -> new TickLabel(LABEL_FONT.createGlyphVector(context, String.valueOf(v))));
+        g.drawGlyphVector(label.glyphs, x - label.width / 2, y);
+    }
+
+    private static final class TickLabel {
+        final GlyphVector glyphs;
+        final int width;
+
+        TickLabel(GlyphVector glyphs) {
+            this.glyphs = glyphs;
+            this.width = (int) Math.round(glyphs.getLogicalBounds().getWidth());
+        }
+    }
+
+    private int calculateGridStep() {
+        double scaledUnit = BASE_UNIT * scale;
+        if (scaledUnit > 128) return 1;
+        if (scaledUnit > 64) return 2;
+        if (scaledUnit > 32) return 4;
+        // 缩得更小时保持网格线间距不小于 32 像素
+        int step = 8;
+        while (step * scaledUnit < 32) {
+            step *= 2;
+        }
+        return step;
+    }
+
+    private double[] calculateVisibleArea(Rectangle visRect) {
+        return new double[] {
+            (visRect.x - offset.x) / (BASE_UNIT * scale),
+            (visRect.x + visRect.width - offset.x) / (BASE_UNIT * scale),
+            (visRect.y - offset.y) / (BASE_UNIT * scale),
+            (visRect.y + visRect.height - offset.y) / (BASE_UNIT * scale)
+        };
+    }
+
+    private boolean usesDensityRaster() {
+        return densityRasterProvider != null && densityRasterProvider.getMaxDensityLevel() > 0
+            && BASE_UNIT * scale < DENSITY_CHUNK_PIXELS;
+    }
+
+    // 选择格子不小于一个像素的最低层级
+    private int densityLevel() {
+        int level = (int) Math.ceil(Math.log(1 / (BASE_UNIT * scale)) / Math.log(2));
+        return Math.max(1, Math.min(densityRasterProvider.getMaxDensityLevel(), level));
+    }
+
+    private void drawChunks(Graphics2D g, Rectangle visRect) {
+        if (usesDensityRaster()) {
+            drawDensityRaster(g, visRect);
+            return;
+        }
+        if (coverageMode && coverageProvider != null) {
+            drawCellRaster(g, visRect, BASE_UNIT * scale, coverageProvider::fillChunkRaster);
+            return;
+        }
+        if (chunkRasterProvider != null && BASE_UNIT * scale < RASTER_CHUNK_PIXELS) {
+            drawChunkRaster(g, visRect);
+            return;
+        }
+        double[] worldBounds = {
+            (visRect.x - offset.x) / scale,    // left
+            (visRect.x + visRect.width - offset.x) / scale, // right
+            (visRect.y - offset.y) / scale,    // top
+            (visRect.y + visRect.height - offset.y) / scale  // bottom
+        };
+
+        List<ChunkData> chunks = chunkProvider.getVisibleChunks(
+            worldBounds[0], worldBounds[1], worldBounds[2], worldBounds[3]);
+        renderStats.addChunks(chunks.size(), chunks.size());
+        for (ChunkData chunk : chunks)
+        {
+        	double screenX = offset.x + (chunk.x / 16) * 16 * scale; // chunk.x为方块坐标需转区块坐标
+        	double screenZ = offset.y + (chunk.z / 16) * 16 * scale;
+        	double screenW = chunk.width * BASE_UNIT * scale / 16.0;
+        	double screenH = chunk.height * BASE_UNIT * scale / 16.0;
+        	
+            // 抗锯齿处理（保持图片中的清晰边缘）
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+            
+            // 绘制填充区域（完全覆盖16x16网格）
+            g.setColor(chunk.color);
+            g.fillRect((int)Math.floor(screenX), (int)Math.floor(screenZ), (int)Math.ceil(screenW), (int)Math.ceil(screenH));
+            
+            // 绘制细边框（与图片中的灰色线条一致）
+            g.setColor(CHUNK_BORDER_COLOR);
+            g.drawRect((int)Math.floor(screenX), (int)Math.floor(screenZ), (int)screenW, (int)screenH);
+        }
+    }
+
+    // 每个区块对应栅格中的一个元素，按最近邻放大到屏幕
+    private void drawChunkRaster(Graphics2D g, Rectangle visRect) {
+        drawCellRaster(g, visRect, BASE_UNIT * scale,
+            (minX, minZ, width, height, argb) -> chunkRasterProvider.fillChunkRaster(minX, minZ, width, height, argb));
+    }
+
+    // 栅格大小与窗口相当，绘制耗时不随缩放变化
+    private void drawDensityRaster(Graphics2D g, Rectangle visRect) {
+        int level = densityLevel();
+        drawCellRaster(g, visRect, BASE_UNIT * scale * (1 << level),
+            (minX, minZ, width, height, argb) -> densityRasterProvider.fillDensityRaster(level, minX, minZ, width, height, argb));
+    }
+
+    private interface CellRasterSource {
+        void fill(int minCellX, int minCellZ, int width, int height, int[] argb);
+    }
+
+    // 每个像素取其中心所在的格子：同一像素无论在哪次局部重绘中都得到同一个格子，
+    // 平移后补画的边条与移动过来的旧内容严丝合缝
+    private void drawCellRaster(Graphics2D g, Rectangle region, double cellPixels, CellRasterSource source) {
+        int minCellX = (int) Math.floor((region.x + 0.5 - offset.x) / cellPixels);
+        int maxCellX = (int) Math.floor((region.x + region.width - 0.5 - offset.x) / cellPixels);
+        int minCellZ = (int) Math.floor((region.y + 0.5 - offset.y) / cellPixels);
+        int maxCellZ = (int) Math.floor((region.y + region.height - 0.5 - offset.y) / cellPixels);
+        int width = maxCellX - minCellX + 1;
+        int height = maxCellZ - minCellZ + 1;
+        if (cellRaster.length < width * height) {
+            cellRaster = new int[width * height];
+        }
+        source.fill(minCellX, minCellZ, width, height, cellRaster);
+        renderStats.addChunks((long) width * height, (long) width * height);
+
+        if (screenRaster == null || screenRaster.getWidth() < region.width || screenRaster.getHeight() < region.height) {
+            screenRaster = new BufferedImage(Math.max(region.width, getWidth()), Math.max(region.height, getHeight()),
+                BufferedImage.TYPE_INT_ARGB);
+        }
+        int[] pixels = ((DataBufferInt) screenRaster.getRaster().getDataBuffer()).getData();
+        int stride = screenRaster.getWidth();
+        int[] columns = new int[region.width];
+        for (int px = 0; px < region.width; px++) {
+            columns[px] = (int) Math.floor((region.x + px + 0.5 - offset.x) / cellPixels) - minCellX;
+        }
+        for (int py = 0; py < region.height; py++) {
+            int row = ((int) Math.floor((region.y + py + 0.5 - offset.y) / cellPixels) - minCellZ) * width;
+            int dst = py * stride;
+            for (int px = 0; px < region.width; px++) {
+                pixels[dst + px] = cellRaster[row + columns[px]];
+            }
+        }
+        g.drawImage(screenRaster, region.x, region.y, region.x + region.width, region.y + region.height,
+            0, 0, region.width, region.height, null);
+    }
+
+    // 只重绘给定区块范围所覆盖的屏幕矩形。区块层的脏区域按上次绘制时的 layerOffset、layerScale 换算，
+    // updateLayers 平移图层时再一起平移；缩放变化后整层都会重画，不需要记录
+    public void repaintChunks(int minChunkX, int minChunkZ, int width, int height) {
+        Rectangle full = new Rectangle(0, 0, getWidth(), getHeight());
+        if (layerOffset != null && layerScale == scale) {
+            Rectangle dirty = chunkBounds(layerOffset, layerScale, minChunkX, minChunkZ, width, height).intersection(full);
+            if (!dirty.isEmpty()) {
+                chunkLayerDirty = chunkLayerDirty == null ? dirty : chunkLayerDirty.union(dirty);
+            }
+        }
+        Rectangle visible = chunkBounds(offset, scale, minChunkX, minChunkZ, width, height).intersection(full);
+        if (!visible.isEmpty()) {
+            repaint(visible);
+        }
+    }
+
+    private static Rectangle chunkBounds(Point origin, double scale, int minChunkX, int minChunkZ, int width, int height) {
+        double chunkPixels = BASE_UNIT * scale;
+        int x = (int) Math.floor(origin.x + minChunkX * chunkPixels);
+        int y = (int) Math.floor(origin.y + minChunkZ * chunkPixels);
+        int w = (int) Math.ceil(width * chunkPixels) + 2;
+        int h = (int) Math.ceil(height * chunkPixels) + 2;
+        return new Rectangle(x, y, w, h);
+    }
+
+    // 保持原点的屏幕位置不变，只改变缩放
+    public void setScale(double newScale) {
+        int halfWidth = getWidth() / 2;
+        int halfHeight = getHeight() / 2;
+        Point origin = offset;
+        double target = clampScale(newScale);
+        applyState(viewModel.update(s -> s.withView((halfWidth - origin.x) / target, (halfHeight - origin.y) / target, target)), false);
+        repaint();
+    }
+
+    private static double clampScale(double newScale) {
+        return Math.max(MIN_SCALE, Math.min(MAX_SCALE, newScale));
+    }
+    
+    public Point worldToScreen(int worldX, int worldZ) {
+        return new Point(
+            (int)(worldX * scale) + offset.x,
+            (int)(worldZ * scale) + offset.y
+        );
+    }
+    
+    public Point screenToWorld(int screenX, int screenZ) {
+        return new Point(
+            (int)((screenX - offset.x) / scale),
+            (int)((screenZ - offset.y) / scale)
+        );
+    }
+    
+    public void setSelectedChunk(int chunkX, int chunkZ) {
+        applyState(viewModel.update(s -> s.withSelection(new Point(chunkX, chunkZ))), false);
+    }
+
+    public void deselect() {
+        applyState(viewModel.update(s -> s.withSelection(null)), false);
+    }
+    
+    public void resetViewpoint() {
+        // 以世界原点为视野中心，缩放倍数 1.00
+        applyState(viewModel.update(s -> s.withView(0, 0, 1.0)), false);
+
+        // 强制重绘
+        chunkLayerValid = false;
+        guideLayerValid = false;
+        repaint();
+    }
+
+}
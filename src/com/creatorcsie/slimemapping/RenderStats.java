@@ -0,0 +1,261 @@
+package com.creatorcsie.slimemapping;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+// 绘制耗时统计：按阶段记录每帧耗时、区块数和分配量，保留最近 WINDOW 帧用于计算 p50 / p99，
+// 同时把每帧和每次后台计算作为 JFR 事件发出（用 -XX:StartFlightRecording 录制后离线分析）
+final class RenderStats {
+    enum Phase {
+        CHUNKS("区块"), GRID("网格"), AXIS("坐标轴"), SELECTION("选中"), FRAME("整帧");
+
+        final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final int WINDOW = 240;
+    private static final Phase[] PHASES = Phase.values();
+
+    // HotSpot 提供按线程统计的分配字节数，其他虚拟机上分配量记为 -1
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = allocationBean();
+
+    private final long[][] phaseNanos = new long[PHASES.length][WINDOW];
+    private final long[] evaluatedWindow = new long[WINDOW];
+    private final long[] drawnWindow = new long[WINDOW];
+    private final long[] allocatedWindow = new long[WINDOW];
+    private int frames;
+
+    // 当前帧的累计值
+    private final long[] current = new long[PHASES.length];
+    private long frameStart;
+    private long allocationStart;
+    private long evaluated;
+    private long drawn;
+    private long pixels;
+
+    // 按整秒滚动的帧率：实际绘制的帧（其中缩放动画的预览帧）和因输入合并而省掉的帧
+    private long secondStart = System.nanoTime();
+    private int renderedInSecond;
+    private int previewsInSecond;
+    private int skippedInSecond;
+    private int renderedPerSecond;
+    private int previewsPerSecond;
+    private int skippedPerSecond;
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) bean;
+                if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+                    return hotspot;
+                }
+            }
+        } catch (LinkageError | RuntimeException ex) {
+            // 没有 jdk.management 模块
+        }
+        return null;
+    }
+
+    private static long allocatedBytes() {
+        return THREAD_BEAN == null ? -1 : THREAD_BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    void beginFrame() {
+        Arrays.fill(current, 0);
+        evaluated = 0;
+        drawn = 0;
+        pixels = 0;
+        allocationStart = allocatedBytes();
+        frameStart = System.nanoTime();
+    }
+
+    // 用法：long t = System.nanoTime(); ...; stats.add(Phase.GRID, t);
+    void add(Phase phase, long startNanos) {
+        current[phase.ordinal()] += System.nanoTime() - startNanos;
+    }
+
+    // evaluatedCells：向数据源请求的区块（或热力图格子）数；drawnCells：画到屏幕上的区块（或格子）数
+    void addChunks(long evaluatedCells, long drawnCells) {
+        evaluated += evaluatedCells;
+        drawn += drawnCells;
+    }
+
+    // 本帧在后备缓冲中重画的像素数，只平移时远小于窗口面积
+    void addPixels(long repainted) {
+        pixels += repainted;
+    }
+
+    // 一次输入事件并入了已在等待的帧
+    void frameSkipped() {
+        rollSecond();
+        skippedInSecond++;
+    }
+
+    void zoomPreviewDrawn() {
+        previewsInSecond++;
+    }
+
+    private void rollSecond() {
+        long now = System.nanoTime();
+        long elapsed = now - secondStart;
+        if (elapsed < 1_000_000_000L) {
+            return;
+        }
+        // 超过两秒没有绘制时上一秒的数据已过时
+        boolean stale = elapsed >= 2_000_000_000L;
+        renderedPerSecond = stale ? 0 : renderedInSecond;
+        previewsPerSecond = stale ? 0 : previewsInSecond;
+        skippedPerSecond = stale ? 0 : skippedInSecond;
+        renderedInSecond = 0;
+        previewsInSecond = 0;
+        skippedInSecond = 0;
+        secondStart = now;
+    }
+
+    void endFrame(double scale) {
+        rollSecond();
+        renderedInSecond++;
+        current[Phase.FRAME.ordinal()] = System.nanoTime() - frameStart;
+        long allocated = allocationStart < 0 ? -1 : allocatedBytes() - allocationStart;
+        int slot = frames % WINDOW;
+        for (int i = 0; i < PHASES.length; i++) {
+            phaseNanos[i][slot] = current[i];
+        }
+        evaluatedWindow[slot] = evaluated;
+        drawnWindow[slot] = drawn;
+        allocatedWindow[slot] = allocated;
+        frames++;
+
+        FrameEvent event = new FrameEvent();
+        if (event.shouldCommit()) {
+            event.frameTime = current[Phase.FRAME.ordinal()];
+            event.chunksTime = current[Phase.CHUNKS.ordinal()];
+            event.gridTime = current[Phase.GRID.ordinal()];
+            event.axisTime = current[Phase.AXIS.ordinal()];
+            event.selectionTime = current[Phase.SELECTION.ordinal()];
+            event.chunksEvaluated = evaluated;
+            event.chunksDrawn = drawn;
+            event.pixelsRendered = pixels;
+            event.allocated = allocated;
+            event.scale = scale;
+            event.commit();
+        }
+    }
+
+    // 覆盖层显示的文字，每项一行
+    List<String> summary() {
+        int count = Math.min(frames, WINDOW);
+        List<String> lines = new ArrayList<>();
+        if (count == 0) {
+            return lines;
+        }
+        for (int i = PHASES.length - 1; i >= 0; i--) {
+            long[] sorted = Arrays.copyOf(phaseNanos[i], count);
+            Arrays.sort(sorted);
+            lines.add(String.format("%s  p50 %.2f ms  p99 %.2f ms", PHASES[i].label,
+                percentile(sorted, 0.5) / 1e6, percentile(sorted, 0.99) / 1e6));
+        }
+        long[] evaluatedSorted = Arrays.copyOf(evaluatedWindow, count);
+        long[] drawnSorted = Arrays.copyOf(drawnWindow, count);
+        long[] allocatedSorted = Arrays.copyOf(allocatedWindow, count);
+        Arrays.sort(evaluatedSorted);
+        Arrays.sort(drawnSorted);
+        Arrays.sort(allocatedSorted);
+        lines.add(String.format("计算区块 p50 %d  p99 %d", percentile(evaluatedSorted, 0.5), percentile(evaluatedSorted, 0.99)));
+        lines.add(String.format("绘制区块 p50 %d  p99 %d", percentile(drawnSorted, 0.5), percentile(drawnSorted, 0.99)));
+        if (allocatedSorted[0] >= 0) {
+            lines.add(String.format("分配 p50 %d KB  p99 %d KB",
+                percentile(allocatedSorted, 0.5) / 1024, percentile(allocatedSorted, 0.99) / 1024));
+        }
+        lines.add(String.format("每秒绘制 %d 帧（缩放预览 %d），合并输入省去 %d 帧",
+            renderedPerSecond, previewsPerSecond, skippedPerSecond));
+        lines.add("最近 " + count + " 帧");
+        return lines;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    @Name("slimemapping.Frame")
+    @Label("Slime Map Frame")
+    @Category("Slime Mapping")
+    @Description("一次地图重绘的分阶段耗时与区块数")
+    static final class FrameEvent extends Event {
+        @Label("Frame Time")
+        @Timespan
+        long frameTime;
+
+        @Label("drawChunks Time")
+        @Timespan
+        long chunksTime;
+
+        @Label("drawGrid Time")
+        @Timespan
+        long gridTime;
+
+        @Label("drawAxis Time")
+        @Timespan
+        long axisTime;
+
+        @Label("drawSelectedCoord Time")
+        @Timespan
+        long selectionTime;
+
+        @Label("Chunks Evaluated")
+        long chunksEvaluated;
+
+        @Label("Chunks Drawn")
+        long chunksDrawn;
+
+        @Label("Pixels Rendered")
+        long pixelsRendered;
+
+        @Label("Allocated")
+        @DataAmount
+        long allocated;
+
+        @Label("Scale")
+        double scale;
+    }
+
+    // 后台计算（瓦片位图、密度块）的耗时，事件本身的起止时间即计算时间
+    @Name("slimemapping.Compute")
+    @Label("Slime Map Compute")
+    @Category("Slime Mapping")
+    @Description("一个瓦片位图或密度块的计算")
+    static final class ComputeEvent extends Event {
+        @Label("Kind")
+        String kind;
+
+        @Label("Seed")
+        long seed;
+
+        @Label("Level")
+        int level;
+
+        @Label("X")
+        int x;
+
+        @Label("Z")
+        int z;
+
+        @Label("Chunks")
+        long chunks;
+    }
+}
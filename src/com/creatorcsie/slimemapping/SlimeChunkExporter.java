@@ -0,0 +1,328 @@
+package com.creatorcsie.slimemapping;
+
+import java.awt.Color;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+// 无界面导出：按条带并行计算区块，流式写出 PNG 或紧凑位图文件，内存占用与区域大小无关
+public class SlimeChunkExporter {
+    // 每个条带包含的区块行数
+    private static final int STRIP_ROWS = 64;
+
+    // 位图文件格式：魔数 "SLMB"、版本、种子、起点区块、宽高，随后逐行写入按 long 对齐的位图
+    static final int BITMAP_MAGIC = 0x534C4D42;
+    static final int BITMAP_VERSION = 1;
+
+    private static final int IDAT_CHUNK_SIZE = 64 * 1024;
+    // 数组长度上限（部分虚拟机在数组中保留几个头部字）；PNG 的宽高上限为 2^31 - 1
+    private static final long MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+    private static final long MAX_PNG_DIMENSION = Integer.MAX_VALUE;
+
+    private final long seed;
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int width;
+    private final int height;
+    private final int threads;
+
+    public SlimeChunkExporter(long seed, int minChunkX, int minChunkZ, int width, int height, int threads) {
+        this.seed = seed;
+        this.minChunkX = minChunkX;
+        this.minChunkZ = minChunkZ;
+        this.width = width;
+        this.height = height;
+        this.threads = Math.max(1, threads);
+    }
+
+    private interface StripSink {
+        void accept(long[] strip, int rows) throws IOException;
+    }
+
+    // 每行占 rowWords 个 long，第 r 行第 dx 个区块对应 bit r * rowWords * 64 + dx
+    private int rowWords() {
+        return (int) (((long) width + 63) >>> 6);
+    }
+
+    // 条带中第 r 行的起始 bit；尺寸在 long 中计算，超出 int 范围时报错而不是溢出成负数
+    private int rowBit(int r) throws IOException {
+        long bit = (long) r * rowWords() * 64;
+        if (bit + width > MAX_ARRAY_LENGTH) {
+            throw new IOException("区域过宽: " + width + " 区块");
+        }
+        return (int) bit;
+    }
+
+    // 导出 PNG 前检查图像尺寸：宽高不超过 PNG 上限，每条扫描线（含过滤类型字节）能放进一个数组
+    public void checkPngSize(int scale) throws IOException {
+        long imageWidth = (long) width * scale;
+        long imageHeight = (long) height * scale;
+        if (imageWidth > MAX_PNG_DIMENSION || imageHeight > MAX_PNG_DIMENSION || imageWidth + 1 > MAX_ARRAY_LENGTH) {
+            throw new IOException(String.format("图像尺寸过大: %d x %d 像素（每边最多 %d）",
+                imageWidth, imageHeight, MAX_ARRAY_LENGTH - 1));
+        }
+    }
+
+    // 并行计算条带，按顺序交给 sink；同时在途的条带数有上限，保证内存有界
+    private void streamStrips(StripSink sink) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "slime-export");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            ArrayDeque<Future<long[]>> inFlight = new ArrayDeque<>();
+            int nextRow = 0;
+            int writtenRow = 0;
+            int maxInFlight = threads * 2;
+            while (writtenRow < height) {
+                while (nextRow < height && inFlight.size() < maxInFlight) {
+                    int stripZ = nextRow;
+                    int rows = Math.min(STRIP_ROWS, height - stripZ);
+                    inFlight.add(executor.submit(() -> computeStrip(stripZ, rows)));
+                    nextRow += rows;
+                }
+                int rows = Math.min(STRIP_ROWS, height - writtenRow);
+                sink.accept(inFlight.poll().get(), rows);
+                writtenRow += rows;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("导出被中断", e);
+        } catch (ExecutionException e) {
+            throw new IOException("条带计算失败", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long[] computeStrip(int stripZ, int rows) throws IOException {
+        long[] strip = new long[Math.toIntExact((long) rowWords() * rows)];
+        for (int r = 0; r < rows; r++) {
+            SlimeChunkOracle.fillRow(seed, minChunkZ + stripZ + r, minChunkX, width, strip, rowBit(r));
+        }
+        return strip;
+    }
+
+    public void writeBitmap(OutputStream target) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target, 1 << 16));
+        out.writeInt(BITMAP_MAGIC);
+        out.writeInt(BITMAP_VERSION);
+        out.writeLong(seed);
+        out.writeInt(minChunkX);
+        out.writeInt(minChunkZ);
+        out.writeInt(width);
+        out.writeInt(height);
+        streamStrips((strip, rows) -> {
+            for (long word : strip) {
+                out.writeLong(word);
+            }
+        });
+        out.flush();
+    }
+
+    // 调色板 PNG：0 = 普通区块，1 = 史莱姆区块；颜色按白色背景预先混合，与界面显示一致
+    public void writePng(OutputStream target, int scale) throws IOException {
+        checkPngSize(scale);
+        long imageWidth = (long) width * scale;
+        long imageHeight = (long) height * scale;
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target, 1 << 16));
+        out.write(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'});
+
+        byte[] header = new byte[13];
+        putInt(header, 0, (int) imageWidth);
+        putInt(header, 4, (int) imageHeight);
+        header[8] = 8; // 位深
+        header[9] = 3; // 调色板
+        writePngChunk(out, "IHDR", header, header.length);
+
+        Color normal = blendOnWhite(SlimeChunkMapping.NORMAL_COLOR);
+        Color slime = blendOnWhite(SlimeChunkMapping.SLIME_COLOR);
+        byte[] palette = {
+            (byte) normal.getRed(), (byte) normal.getGreen(), (byte) normal.getBlue(),
+            (byte) slime.getRed(), (byte) slime.getGreen(), (byte) slime.getBlue()
+        };
+        writePngChunk(out, "PLTE", palette, palette.length);
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        byte[] deflated = new byte[IDAT_CHUNK_SIZE];
+        byte[] scanline = new byte[(int) imageWidth + 1];
+        try {
+            streamStrips((strip, rows) -> {
+                for (int r = 0; r < rows; r++) {
+                    int rowBit = rowBit(r);
+                    scanline[0] = 0; // 过滤类型 None
+                    int pos = 1;
+                    for (int dx = 0; dx < width; dx++) {
+                        byte index = SlimeChunkOracle.testBit(strip, rowBit + dx) ? (byte) 1 : 0;
+                        for (int s = 0; s < scale; s++) {
+                            scanline[pos++] = index;
+                        }
+                    }
+                    for (int s = 0; s < scale; s++) {
+                        deflater.setInput(scanline);
+                        while (!deflater.needsInput()) {
+                            int n = deflater.deflate(deflated);
+                            if (n > 0) {
+                                writePngChunk(out, "IDAT", deflated, n);
+                            }
+                        }
+                    }
+                }
+            });
+            deflater.finish();
+            while (!deflater.finished()) {
+                int n = deflater.deflate(deflated);
+                if (n > 0) {
+                    writePngChunk(out, "IDAT", deflated, n);
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+        writePngChunk(out, "IEND", new byte[0], 0);
+        out.flush();
+    }
+
+    private static Color blendOnWhite(Color c) {
+        double a = c.getAlpha() / 255.0;
+        return new Color(
+            (int) Math.round(c.getRed() * a + 255 * (1 - a)),
+            (int) Math.round(c.getGreen() * a + 255 * (1 - a)),
+            (int) Math.round(c.getBlue() * a + 255 * (1 - a)));
+    }
+
+    private static void writePngChunk(DataOutputStream out, String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static void putInt(byte[] b, int off, int v) {
+        b[off] = (byte) (v >>> 24);
+        b[off + 1] = (byte) (v >>> 16);
+        b[off + 2] = (byte) (v >>> 8);
+        b[off + 3] = (byte) v;
+    }
+
+    private static void printUsage() {
+        System.err.println("用法: java -jar SlimeMapping.jar export --seed <种子> --from <x1>,<z1> --to <x2>,<z2>"
+            + " [--scale <每区块像素数>] [--format png|bin] [--threads <线程数>] --out <文件>");
+        System.err.println("坐标为方块坐标，例如 --from -50000,-50000 --to 50000,50000");
+    }
+
+    private static int[] parsePair(String text) {
+        String[] parts = text.split(",");
+        if (parts.length != 2) {
+            throw new NumberFormatException(text);
+        }
+        return new int[] {Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim())};
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        Long seed = null;
+        int[] from = null;
+        int[] to = null;
+        int scale = 1;
+        String format = null;
+        String outPath = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--seed": seed = Long.parseLong(value); i++; break;
+                    case "--from": from = parsePair(value); i++; break;
+                    case "--to": to = parsePair(value); i++; break;
+                    case "--scale": scale = Integer.parseInt(value); i++; break;
+                    case "--format": format = value; i++; break;
+                    case "--threads": threads = Integer.parseInt(value); i++; break;
+                    case "--out": outPath = value; i++; break;
+                    default:
+                        System.err.println("未知参数: " + args[i]);
+                        printUsage();
+                        System.exit(2);
+                        return;
+                }
+            }
+        } catch (NumberFormatException | NullPointerException ex) {
+            System.err.println("参数格式错误");
+            printUsage();
+            System.exit(2);
+            return;
+        }
+        if (seed == null || from == null || to == null || outPath == null || scale < 1) {
+            printUsage();
+            System.exit(2);
+            return;
+        }
+        if (format == null) {
+            format = outPath.toLowerCase(Locale.ROOT).endsWith(".png") ? "png" : "bin";
+        }
+        // 在打开输出文件之前检查，参数有误时不会留下空文件
+        if (!"png".equals(format) && !"bin".equals(format)) {
+            System.err.println("未知格式: " + format);
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        // 方块坐标 → 区块坐标，并限制在世界边界内
+        int minChunkX = Math.max(Math.floorDiv(Math.min(from[0], to[0]), 16), -SlimeChunkMapping.MAX_CHUNK);
+        int maxChunkX = Math.min(Math.floorDiv(Math.max(from[0], to[0]), 16), SlimeChunkMapping.MAX_CHUNK);
+        int minChunkZ = Math.max(Math.floorDiv(Math.min(from[1], to[1]), 16), -SlimeChunkMapping.MAX_CHUNK);
+        int maxChunkZ = Math.min(Math.floorDiv(Math.max(from[1], to[1]), 16), SlimeChunkMapping.MAX_CHUNK);
+        if (minChunkX > maxChunkX || minChunkZ > maxChunkZ) {
+            System.err.println("区域不在世界边界内");
+            System.exit(2);
+            return;
+        }
+        int width = maxChunkX - minChunkX + 1;
+        int height = maxChunkZ - minChunkZ + 1;
+
+        SlimeChunkExporter exporter = new SlimeChunkExporter(seed, minChunkX, minChunkZ, width, height, threads);
+        if ("png".equals(format)) {
+            try {
+                exporter.checkPngSize(scale);
+            } catch (IOException ex) {
+                System.err.println(ex.getMessage());
+                System.exit(2);
+                return;
+            }
+        }
+        long start = System.nanoTime();
+        try (OutputStream out = new FileOutputStream(outPath)) {
+            if ("png".equals(format)) {
+                exporter.writePng(out, scale);
+            } else {
+                exporter.writeBitmap(out);
+            }
+        } catch (IOException ex) {
+            System.err.println("导出失败: " + ex.getMessage());
+            System.exit(1);
+            return;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long chunks = (long) width * height;
+        System.out.printf("已导出 %d x %d 区块到 %s，用时 %.2f 秒，%.0f 区块/秒%n",
+            width, height, outPath, seconds, chunks / seconds);
+    }
+}
@@ -0,0 +1,766 @@
+package com.creatorcsie.slimemapping;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class SlimeChunkMapping extends JFrame {
+    // 世界边界（区块坐标）
+    static final int MAX_CHUNK = 12550820 / 16;
+    // 区块颜色
+    static final Color SLIME_COLOR = new Color(100, 200, 100, 150);
+    static final Color NORMAL_COLOR = new Color(200, 200, 200, 50);
+    // 瓦片仍在后台计算时的占位颜色
+    static final Color PENDING_COLOR = new Color(230, 230, 230, 120);
+    // 密度热力图中史莱姆区块占比达到两倍平均值（20%）时的颜色
+    static final Color DENSE_COLOR = new Color(30, 140, 30, 220);
+
+    private final CoordinateSystem coordSystem = new CoordinateSystem();
+    // 瓦片缓存，上限 64MB
+    private final ChunkTileCache tileCache = new ChunkTileCache(64L * 1024 * 1024);
+    private final SlimeChunkProvider chunkProvider = new SlimeChunkProvider(tileCache, true);
+    // 缩得很小时绘制的密度热力图，上限 32MB
+    private final SlimeDensityPyramid densityPyramid = new SlimeDensityPyramid(tileCache, 32L * 1024 * 1024);
+    // 小地图：中心与主视图双向同步，缩放为主视图的 1/8（2 的幂，换算无误差），与主视图共用各级缓存
+    private static final double MINIMAP_SCALE_RATIO = 1.0 / 8;
+    private static final int MINIMAP_SIZE = 220;
+    private final CoordinateSystem minimap = new CoordinateSystem();
+    private final SlimeChunkProvider minimapProvider = new SlimeChunkProvider(tileCache, true);
+    private JPanel minimapPanel;
+    // 并排比较的第二个种子：与主视图共用视图模型（同步平移、缩放、选中）和各级缓存
+    private final CoordinateSystem compareView = new CoordinateSystem();
+    private final SlimeChunkProvider compareProvider = new SlimeChunkProvider(tileCache, true);
+    private JPanel viewPanel;
+    // 挂机点覆盖热力图，直接读取瓦片缓存
+    private final SlimeCoverageMap coverageMap = new SlimeCoverageMap(tileCache, chunkProvider);
+    // Shift + 拖动测量区域时使用的瓦片级前缀和，上限 16MB
+    private final SlimeRegionStats regionStats = new SlimeRegionStats(tileCache, densityPyramid, 16L * 1024 * 1024);
+    // 区域统计结果列出的史莱姆区块数上限
+    private static final int MAX_LISTED_CHUNKS = 1000;
+    private SwingWorker<SlimeRegionStats.Region, Void> measureWorker;
+    // 最近一次最近史莱姆区块搜索的耗时，显示在调试信息中
+    private String lastSearchStats = "";
+    private JDialog measureDialog;
+    private JLabel measureStatusLabel;
+    private final DefaultListModel<String> measureResults = new DefaultListModel<>();
+    private List<Point> measuredChunks = List.of();
+    // 当前种子的磁盘索引（未配置 slime.index.dir 时为 null）
+    private SlimeIndexFile slimeIndex;
+    private long currentSeed;
+    private JTextField seedField;
+    private JTextField xField;
+    private JTextField zField;
+    private JCheckBox excludeSpawnBox;
+    private JComboBox<SlimeChunkOracle.Edition> editionBox;
+    // 种子动画：每帧换一个种子，期间视野内的瓦片当场计算，每帧画出的都是完整结果
+    private static final int SCRUB_FRAME_MS = 66;
+    // 可见区块数超过此值时每帧计算太慢，停止种子动画
+    private static final long SCRUB_MAX_CHUNKS = 4_000_000L;
+    private static final String SCRUB_RANDOM = "随机";
+    private final Timer scrubTimer = new Timer(SCRUB_FRAME_MS, e -> stepSeedScrub());
+    private final Random scrubRandom = new Random();
+    private JToggleButton scrubButton;
+    private JComboBox<String> scrubModeBox;
+
+    public SlimeChunkMapping() {
+        initUI();
+        setupChunkProvider();
+        generateRandomSeed();
+        setupControls();
+    }
+    
+    private void generateRandomSeed() {
+        currentSeed = new Random().nextLong();
+        onSeedChanged();
+        if (seedField != null) {
+            seedField.setText(Long.toString(currentSeed));
+        }
+    }
+
+    // 种子变化：各级缓存都以种子为键，旧种子的结果留给 LRU 淘汰（切回旧种子时直接命中），只切换磁盘索引
+    private void onSeedChanged() {
+        showSeed();
+        if (slimeIndex != null) {
+            try {
+                slimeIndex.close();
+            } catch (IOException ex) {
+                System.err.println("关闭史莱姆索引失败: " + ex.getMessage());
+            }
+            slimeIndex = null;
+        }
+        try {
+            slimeIndex = SlimeIndexFile.openConfigured(currentSeed);
+        } catch (IOException | RuntimeException ex) {
+            System.err.println("打开史莱姆索引失败，改为内存计算: " + ex.getMessage());
+        }
+        tileCache.setIndex(slimeIndex);
+    }
+
+    // 只切换显示的种子，不碰磁盘索引（种子动画每帧调用）
+    private void showSeed() {
+        chunkProvider.setSeed(currentSeed);
+        minimapProvider.setSeed(currentSeed);
+        coordSystem.clearMeasurement();
+        coordSystem.invalidateMap();
+        minimap.invalidateMap();
+    }
+
+    // 游戏版本变化：两个版本的结果不同，瓦片缓存和密度金字塔都要清空
+    private void onEditionChanged() {
+        SlimeChunkOracle.Edition edition = (SlimeChunkOracle.Edition) editionBox.getSelectedItem();
+        if (edition == chunkProvider.getEdition()) {
+            return;
+        }
+        stopSeedScrub();
+        chunkProvider.setEdition(edition);
+        densityPyramid.invalidate();
+        regionStats.invalidate();
+        coordSystem.clearMeasurement();
+        coordSystem.invalidateMap();
+        minimap.invalidateMap();
+        compareView.invalidateMap();
+        // 基岩版与世界种子无关
+        seedField.setEnabled(edition.usesWorldSeed());
+    }
+
+    private void initUI() {
+        setTitle("Minecraft 史莱姆区块坐标分布");
+        setSize(800, 600);
+        setDefaultCloseOperation(EXIT_ON_CLOSE);
+        getContentPane().setLayout(new BorderLayout());
+        
+        JPanel infoPanel = new JPanel(new GridBagLayout());
+        infoPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 10, 10));
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.anchor = GridBagConstraints.LINE_END;
+        gbc.weightx = 1;
+        gbc.gridx = 0;
+
+        JLabel authorLabel = new JLabel("Made by CreatorCSIE");
+        JLabel versionLabel = new JLabel("版本：1.1");
+        authorLabel.setFont(new Font("Microsoft YaHei", Font.PLAIN, 12));
+        versionLabel.setFont(new Font("Microsoft YaHei", Font.PLAIN, 12));
+
+        gbc.gridy = 0;
+        infoPanel.add(authorLabel, gbc);
+        gbc.gridy = 1;
+        infoPanel.add(versionLabel, gbc);
+
+        getContentPane().add(infoPanel, BorderLayout.SOUTH);
+    }
+
+    private void setupChunkProvider() {
+        coordSystem.setDebugInfoSupplier(() -> tileCache.getStats() + "; " + densityPyramid.getStats() + "; " + regionStats.getStats()
+            + lastSearchStats);
+        attachView(coordSystem, chunkProvider);
+        attachView(minimap, minimapProvider);
+        attachView(compareView, compareProvider);
+        coordSystem.setCoverageProvider(coverageMap);
+        coordSystem.setRegionMeasureListener(this::measureRegion);
+
+        minimap.getViewModel().follow(coordSystem.getViewModel(), MINIMAP_SCALE_RATIO);
+        minimap.setIndicatedView(coordSystem);
+        minimap.setWheelZoomEnabled(false);
+        minimap.setHudVisible(false);
+        compareView.setViewModel(coordSystem.getViewModel());
+        compareView.setDebugInfoSupplier(() -> "对比种子: " + compareProvider.getSeed());
+    }
+
+    // 每个视图用自己的 provider（种子、后台任务的保留范围），瓦片和密度块按种子为键在所有视图间共享，只计算一次；
+    // 后台计算完成时，显示该种子的每个视图各自只重绘对应区域
+    private void attachView(CoordinateSystem view, SlimeChunkProvider provider) {
+        provider.setDensityPyramid(densityPyramid);
+        view.setChunkProvider(provider);
+        view.setChunkRasterProvider(provider);
+        view.setDensityRasterProvider(provider);
+        view.setViewportListener(provider);
+        tileCache.addTileListener((seed, tileX, tileZ) -> SwingUtilities.invokeLater(() -> {
+            if (seed == provider.getSeed() && view.isShowing()) {
+                // 覆盖热力图中，刷怪环伸到瓦片之外的区块也取决于这个瓦片
+                int margin = view.isCoverageMode() ? SlimeCoverageMap.RADIUS : 0;
+                view.repaintChunks((tileX << ChunkTileCache.TILE_SHIFT) - margin, (tileZ << ChunkTileCache.TILE_SHIFT) - margin,
+                    ChunkTileCache.TILE_SIZE + 2 * margin, ChunkTileCache.TILE_SIZE + 2 * margin);
+            }
+        }));
+        densityPyramid.addBlockListener((seed, level, blockX, blockZ) -> SwingUtilities.invokeLater(() -> {
+            if (seed == provider.getSeed() && view.isShowing()) {
+                int shift = level + SlimeDensityPyramid.BLOCK_SHIFT;
+                view.repaintChunks(blockX << shift, blockZ << shift, 1 << shift, 1 << shift);
+            }
+        }));
+    }
+
+    // 隐藏视图时撤销它保留的后台任务范围，只有它需要的瓦片不再继续计算
+    private void detachView(CoordinateSystem view, SlimeChunkProvider provider) {
+        provider.viewportChanged(0, 0, -1, -1, 0);
+        view.getParent().remove(view);
+    }
+
+    // 在后台统计测量的区域，旧的统计未完成时直接作废
+    private void measureRegion(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+        if (measureWorker != null) {
+            measureWorker.cancel(false);
+        }
+        long seed = currentSeed;
+        SlimeChunkOracle.Edition edition = chunkProvider.getEdition();
+        long start = System.nanoTime();
+        SwingWorker<SlimeRegionStats.Region, Void> worker = new SwingWorker<>() {
+            @Override
+            protected SlimeRegionStats.Region doInBackground() {
+                return regionStats.query(seed, minChunkX, minChunkZ, maxChunkX, maxChunkZ,
+                    MAX_LISTED_CHUNKS, ForkJoinPool.commonPool());
+            }
+
+            @Override
+            protected void done() {
+                // 统计期间种子或版本已改变
+                if (isCancelled() || measureWorker != this || seed != currentSeed || edition != chunkProvider.getEdition()) {
+                    return;
+                }
+                SlimeRegionStats.Region region;
+                try {
+                    region = get();
+                } catch (Exception ex) {
+                    coordSystem.setMeasureResult("统计失败: " + ex.getMessage());
+                    return;
+                }
+                double millis = (System.nanoTime() - start) / 1e6;
+                coordSystem.setMeasureResult(String.format("史莱姆区块 %d 个（%.2f%%）", region.slimeChunks, region.getDensity() * 100));
+                showMeasureResult(region, millis);
+            }
+        };
+        measureWorker = worker;
+        worker.execute();
+    }
+
+    // 区域统计结果窗口：列出区域内的史莱姆区块，点击跳转
+    private void showMeasureResult(SlimeRegionStats.Region region, double millis) {
+        if (measureDialog == null) {
+            measureDialog = new JDialog(this, "区域统计", false);
+            measureStatusLabel = new JLabel();
+            JList<String> resultList = new JList<>(measureResults);
+            resultList.addListSelectionListener(e -> {
+                int index = resultList.getSelectedIndex();
+                if (!e.getValueIsAdjusting() && index >= 0 && index < measuredChunks.size()) {
+                    Point chunk = measuredChunks.get(index);
+                    coordSystem.setSelectedChunk(chunk.x, chunk.y);
+                    ensureChunkVisible(chunk.x, chunk.y);
+                }
+            });
+            measureDialog.getContentPane().setLayout(new BorderLayout(5, 5));
+            measureDialog.getContentPane().add(measureStatusLabel, BorderLayout.NORTH);
+            measureDialog.getContentPane().add(new JScrollPane(resultList), BorderLayout.CENTER);
+            measureDialog.setSize(460, 320);
+            measureDialog.setLocationRelativeTo(this);
+        }
+        measuredChunks = region.slimeList;
+        measureResults.clear();
+        for (Point chunk : region.slimeList) {
+            measureResults.addElement(String.format("区块 (%d, %d)  方块 (%d, %d)", chunk.x, chunk.y, chunk.x * 16, chunk.y * 16));
+        }
+        measureStatusLabel.setText(String.format("<html>区块 (%d, %d) 到 (%d, %d)，共 %d 个区块<br>史莱姆区块 %d 个，占 %.2f%%，用时 %.1f ms%s</html>",
+            region.minChunkX, region.minChunkZ, region.maxChunkX, region.maxChunkZ, region.chunks,
+            region.slimeChunks, region.getDensity() * 100, millis,
+            region.isTruncated() ? "（只列出前 " + region.slimeList.size() + " 个）" : ""));
+        if (!measureDialog.isVisible()) {
+            measureDialog.setVisible(true);
+        }
+    }
+
+    private void setupControls() {
+        JPanel controlPanel = new JPanel();
+        xField = new JTextField(8);
+        zField = new JTextField(8);
+        JButton searchButton = new JButton("搜索");
+        searchButton.addActionListener(e -> searchChunk());
+
+        controlPanel.add(new JLabel("X:"));
+        controlPanel.add(xField);
+        controlPanel.add(new JLabel("Z:"));
+        controlPanel.add(zField);
+        excludeSpawnBox = new JCheckBox("排除出生点区块");
+        controlPanel.add(searchButton);
+        controlPanel.add(excludeSpawnBox);
+        
+        seedField = new JTextField(15);
+        seedField.setText(Long.toString(currentSeed)); // 初始显示随机种子
+        
+        JButton updateButton = new JButton("应用种子");
+        JButton randomButton = new JButton("随机种子");
+
+        updateButton.addActionListener(e -> updateSeed(seedField.getText()));
+        randomButton.addActionListener(e -> {
+            stopSeedScrub();
+            generateRandomSeed();
+            coordSystem.deselect();
+            coordSystem.setScale(1);
+            coordSystem.resetViewpoint();
+            coordSystem.repaint();
+        });
+
+        JButton clusterButton = new JButton("密集区搜索");
+        clusterButton.addActionListener(e -> showClusterSearch());
+
+        editionBox = new JComboBox<>(SlimeChunkOracle.Edition.values());
+        editionBox.addActionListener(e -> onEditionChanged());
+
+        controlPanel.add(editionBox);
+        controlPanel.add(new JLabel("World Seed:"));
+        controlPanel.add(seedField);
+        controlPanel.add(updateButton);
+        controlPanel.add(randomButton);
+        controlPanel.add(clusterButton);
+
+        JButton seedScanButton = new JButton("种子搜索");
+        seedScanButton.addActionListener(e -> showSeedScan());
+        controlPanel.add(seedScanButton);
+
+        scrubModeBox = new JComboBox<>(new String[] {"逐个 +1", SCRUB_RANDOM});
+        scrubButton = new JToggleButton("种子动画");
+        scrubButton.addActionListener(e -> {
+            if (scrubButton.isSelected()) {
+                startSeedScrub();
+            } else {
+                stopSeedScrub();
+            }
+        });
+        controlPanel.add(scrubButton);
+        controlPanel.add(scrubModeBox);
+
+        JToggleButton coverageButton = new JToggleButton("挂机覆盖");
+        coverageButton.setToolTipText("按以区块中心为挂机点时刷怪环（24 到 128 格）内的史莱姆区块数着色");
+        coverageButton.addActionListener(e -> coordSystem.setCoverageMode(coverageButton.isSelected()));
+        controlPanel.add(coverageButton);
+
+        JToggleButton minimapButton = new JToggleButton("小地图");
+        minimapButton.addActionListener(e -> setMinimapVisible(minimapButton.isSelected()));
+        controlPanel.add(minimapButton);
+
+        JToggleButton compareButton = new JToggleButton("对比种子");
+        compareButton.addActionListener(e -> {
+            if (compareButton.isSelected()) {
+                compareButton.setSelected(showCompareView());
+            } else {
+                detachView(compareView, compareProvider);
+                viewPanel.revalidate();
+                viewPanel.repaint();
+            }
+        });
+        controlPanel.add(compareButton);
+
+        // 主视图和对比视图并排，宽度各占一半
+        viewPanel = new JPanel(new GridLayout(1, 0, 4, 0));
+        viewPanel.add(coordSystem);
+        minimapPanel = new JPanel(new BorderLayout());
+        minimapPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        minimap.setPreferredSize(new Dimension(MINIMAP_SIZE, MINIMAP_SIZE));
+        minimapPanel.add(minimap, BorderLayout.NORTH);
+
+        getContentPane().add(controlPanel, BorderLayout.NORTH);
+        getContentPane().add(new JScrollPane(viewPanel), BorderLayout.CENTER);
+    }
+
+    private void setMinimapVisible(boolean visible) {
+        if (visible) {
+            minimapPanel.add(minimap, BorderLayout.NORTH);
+            getContentPane().add(minimapPanel, BorderLayout.EAST);
+            minimap.invalidateMap();
+        } else {
+            detachView(minimap, minimapProvider);
+            getContentPane().remove(minimapPanel);
+        }
+        getContentPane().revalidate();
+        getContentPane().repaint();
+    }
+
+    // 询问对比的种子并在主视图右侧显示；取消或输入无效时返回 false
+    private boolean showCompareView() {
+        String text = JOptionPane.showInputDialog(this, "对比的世界种子:", Long.toString(currentSeed + 1));
+        if (text == null) {
+            return false;
+        }
+        try {
+            compareProvider.setSeed(Long.parseLong(text.trim()));
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "请输入有效的整数种子");
+            return false;
+        }
+        viewPanel.add(compareView);
+        compareView.invalidateMap();
+        viewPanel.revalidate();
+        viewPanel.repaint();
+        return true;
+    }
+    
+    private void ensureChunkVisible(int chunkX, int chunkZ) {
+        // 计算目标区块中心点（世界坐标，方块单位）
+        int blockCenterX = chunkX * 16 + 8;
+        int blockCenterZ = chunkZ * 16 + 8;
+
+        // 把目标点设为视野中心（写入共用的视图模型，对比视图和小地图随之移动）
+        coordSystem.setCenter(blockCenterX, blockCenterZ);
+
+        // 触发重绘
+        coordSystem.repaint();
+    }
+    
+    private void searchChunk() {
+    	
+    	coordSystem.deselect();
+        try {
+            int inputX = Integer.parseInt(xField.getText());
+            int inputZ = Integer.parseInt(zField.getText());
+            
+            // 限制范围：chunkX / chunkZ 不得超过 784426
+            final int MAX_BLOCK = MAX_CHUNK * 16;
+
+            if (Math.abs(inputX) > MAX_BLOCK || Math.abs(inputZ) > MAX_BLOCK) {
+                JOptionPane.showMessageDialog(this, "坐标超出支持范围（不得超过 ±" + MAX_BLOCK + "）");
+                return;
+            }
+
+            int chunkX = Math.floorDiv(inputX, 16);
+            int chunkZ = Math.floorDiv(inputZ, 16);
+
+            // 按距离逐圈向外搜索，不限制半径
+            long start = System.nanoTime();
+            long seed = currentSeed;
+            // 经过瓦片缓存（以及磁盘索引）读取
+            Point closestChunk = SlimeChunkSearch.nearest((x, z) -> tileCache.isSlimeChunk(seed, x, z),
+                chunkX, chunkZ, excludeSpawnBox.isSelected());
+            lastSearchStats = String.format("; 搜索 (%d, %d): %.3f ms", chunkX, chunkZ, (System.nanoTime() - start) / 1e6);
+
+            if (closestChunk != null) {
+                coordSystem.setSelectedChunk(closestChunk.x, closestChunk.y);
+                ensureChunkVisible(closestChunk.x, closestChunk.y);
+                coordSystem.repaint();
+            } else {
+                JOptionPane.showMessageDialog(this, "附近未找到史莱姆区块");
+            }
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "请输入有效的整数坐标");
+        }
+    }
+
+
+    // 在当前视点周围搜索史莱姆区块最密集的位置，结果列表可点击跳转
+    private void showClusterSearch() {
+        JComboBox<SlimeClusterFinder.Shape> shapeBox = new JComboBox<>(new SlimeClusterFinder.Shape[] {
+            SlimeClusterFinder.Shape.square(8),
+            SlimeClusterFinder.Shape.radius(128)
+        });
+        JTextField radiusField = new JTextField("20000", 8);
+        JTextField topField = new JTextField("10", 4);
+        JPanel form = new JPanel(new GridLayout(0, 2, 5, 5));
+        form.add(new JLabel("统计窗口:"));
+        form.add(shapeBox);
+        form.add(new JLabel("搜索半径（方块）:"));
+        form.add(radiusField);
+        form.add(new JLabel("结果数量:"));
+        form.add(topField);
+        if (JOptionPane.showConfirmDialog(this, form, "史莱姆密集区搜索", JOptionPane.OK_CANCEL_OPTION)
+                != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        int radiusChunks;
+        int topK;
+        try {
+            radiusChunks = Math.min(Integer.parseInt(radiusField.getText().trim()) / 16, MAX_CHUNK);
+            topK = Integer.parseInt(topField.getText().trim());
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "请输入有效的整数");
+            return;
+        }
+        if (radiusChunks < 0 || topK < 1) {
+            JOptionPane.showMessageDialog(this, "请输入有效的整数");
+            return;
+        }
+
+        Point centerWorld = coordSystem.screenToWorld(coordSystem.getWidth() / 2, coordSystem.getHeight() / 2);
+        int centerX = Math.floorDiv(centerWorld.x, 16);
+        int centerZ = Math.floorDiv(centerWorld.y, 16);
+        SlimeClusterFinder finder = new SlimeClusterFinder(chunkProvider.getEdition(), currentSeed, (SlimeClusterFinder.Shape) shapeBox.getSelectedItem(),
+            centerX - radiusChunks, centerZ - radiusChunks, centerX + radiusChunks, centerZ + radiusChunks, topK);
+
+        JDialog dialog = new JDialog(this, "史莱姆密集区搜索", false);
+        JProgressBar progressBar = new JProgressBar(0, 1000);
+        progressBar.setStringPainted(true);
+        JLabel statusLabel = new JLabel("搜索中...");
+        JButton closeButton = new JButton("取消");
+        DefaultListModel<SlimeClusterFinder.Cluster> results = new DefaultListModel<>();
+        JList<SlimeClusterFinder.Cluster> resultList = new JList<>(results);
+        resultList.addListSelectionListener(e -> {
+            SlimeClusterFinder.Cluster cluster = resultList.getSelectedValue();
+            if (!e.getValueIsAdjusting() && cluster != null) {
+                coordSystem.setSelectedChunk(cluster.chunkX, cluster.chunkZ);
+                ensureChunkVisible(cluster.chunkX, cluster.chunkZ);
+            }
+        });
+
+        JPanel south = new JPanel(new BorderLayout(5, 5));
+        south.add(statusLabel, BorderLayout.CENTER);
+        south.add(closeButton, BorderLayout.EAST);
+        dialog.getContentPane().setLayout(new BorderLayout(5, 5));
+        dialog.getContentPane().add(progressBar, BorderLayout.NORTH);
+        dialog.getContentPane().add(new JScrollPane(resultList), BorderLayout.CENTER);
+        dialog.getContentPane().add(south, BorderLayout.SOUTH);
+        dialog.setSize(460, 320);
+        dialog.setLocationRelativeTo(this);
+
+        long start = System.nanoTime();
+        Timer progressTimer = new Timer(100, e -> progressBar.setValue((int) (finder.getProgress() * 1000)));
+        SwingWorker<List<SlimeClusterFinder.Cluster>, Void> worker = new SwingWorker<>() {
+            @Override
+            protected List<SlimeClusterFinder.Cluster> doInBackground() {
+                return finder.search(ForkJoinPool.commonPool());
+            }
+
+            @Override
+            protected void done() {
+                progressTimer.stop();
+                progressBar.setValue((int) (finder.getProgress() * 1000));
+                try {
+                    get().forEach(results::addElement);
+                } catch (Exception ex) {
+                    statusLabel.setText("搜索失败: " + ex.getMessage());
+                    closeButton.setText("关闭");
+                    return;
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                statusLabel.setText(String.format("%s扫描 %d 个区块，用时 %.2f 秒（%.0f 区块/秒）",
+                    finder.isCancelled() ? "已取消，" : "", finder.getScannedChunks(), seconds,
+                    finder.getScannedChunks() / seconds));
+                closeButton.setText("关闭");
+            }
+        };
+        closeButton.addActionListener(e -> {
+            if (worker.isDone()) {
+                dialog.dispose();
+            } else {
+                finder.cancel();
+            }
+        });
+        dialog.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                finder.cancel();
+            }
+        });
+        dialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+
+        progressTimer.start();
+        worker.execute();
+        dialog.setVisible(true);
+    }
+
+    // 批量检查种子：出生点附近史莱姆区块足够多的种子会实时列出，点击即可应用
+    private void showSeedScan() {
+        if (!chunkProvider.getEdition().usesWorldSeed()) {
+            JOptionPane.showMessageDialog(this, "基岩版的史莱姆区块与世界种子无关，无需搜索种子");
+            return;
+        }
+        JTextField centerField = new JTextField("0,0", 8);
+        JTextField sizeField = new JTextField("16", 4);
+        JTextField minField = new JTextField("45", 4);
+        JTextField startField = new JTextField(Long.toString(new Random().nextLong()), 15);
+        JTextField countField = new JTextField("10000000", 10);
+        JPanel form = new JPanel(new GridLayout(0, 2, 5, 5));
+        form.add(new JLabel("中心区块 (x,z):"));
+        form.add(centerField);
+        form.add(new JLabel("区域边长（区块）:"));
+        form.add(sizeField);
+        form.add(new JLabel("最少史莱姆区块数:"));
+        form.add(minField);
+        form.add(new JLabel("起始种子:"));
+        form.add(startField);
+        form.add(new JLabel("检查种子数:"));
+        form.add(countField);
+        if (JOptionPane.showConfirmDialog(this, form, "种子搜索", JOptionPane.OK_CANCEL_OPTION)
+                != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        SlimeSeedScanner scanner;
+        long startSeed;
+        long seedCount;
+        try {
+            String[] center = centerField.getText().split(",");
+            int centerX = Integer.parseInt(center[0].trim());
+            int centerZ = Integer.parseInt(center[1].trim());
+            int size = Integer.parseInt(sizeField.getText().trim());
+            int minCount = Integer.parseInt(minField.getText().trim());
+            startSeed = Long.parseLong(startField.getText().trim());
+            seedCount = Long.parseLong(countField.getText().trim());
+            if (size < 1 || seedCount < 1) {
+                throw new NumberFormatException();
+            }
+            if (size > SlimeSeedScanner.MAX_SIZE) {
+                JOptionPane.showMessageDialog(this, "区域边长不能超过 " + SlimeSeedScanner.MAX_SIZE);
+                return;
+            }
+            scanner = new SlimeSeedScanner(centerX - size / 2, centerZ - size / 2, size, size, minCount);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException ex) {
+            JOptionPane.showMessageDialog(this, "请输入有效的整数");
+            return;
+        }
+
+        JDialog dialog = new JDialog(this, "种子搜索", false);
+        JProgressBar progressBar = new JProgressBar(0, 1000);
+        progressBar.setStringPainted(true);
+        JLabel statusLabel = new JLabel("搜索中...");
+        JButton stopButton = new JButton("停止");
+        DefaultListModel<String> results = new DefaultListModel<>();
+        JList<String> resultList = new JList<>(results);
+        resultList.addListSelectionListener(e -> {
+            String selected = resultList.getSelectedValue();
+            if (!e.getValueIsAdjusting() && selected != null) {
+                String seedText = selected.substring(0, selected.indexOf(' '));
+                seedField.setText(seedText);
+                updateSeed(seedText);
+            }
+        });
+
+        JPanel south = new JPanel(new BorderLayout(5, 5));
+        south.add(statusLabel, BorderLayout.CENTER);
+        south.add(stopButton, BorderLayout.EAST);
+        dialog.getContentPane().setLayout(new BorderLayout(5, 5));
+        dialog.getContentPane().add(progressBar, BorderLayout.NORTH);
+        dialog.getContentPane().add(new JScrollPane(resultList), BorderLayout.CENTER);
+        dialog.getContentPane().add(south, BorderLayout.SOUTH);
+        dialog.setSize(460, 320);
+        dialog.setLocationRelativeTo(this);
+
+        long begin = System.nanoTime();
+        Timer progressTimer = new Timer(200, e -> {
+            double seconds = (System.nanoTime() - begin) / 1e9;
+            progressBar.setValue((int) (scanner.getCheckedSeeds() * 1000 / seedCount));
+            statusLabel.setText(String.format("已检查 %d，匹配 %d，%.0f 种子/秒",
+                scanner.getCheckedSeeds(), scanner.getMatches(), scanner.getCheckedSeeds() / seconds));
+        });
+        SwingWorker<Void, String> worker = new SwingWorker<>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                scanner.scan(startSeed, seedCount, Runtime.getRuntime().availableProcessors(),
+                    (seed, slimeCount) -> publish(seed + " （" + slimeCount + " 个史莱姆区块）"));
+                return null;
+            }
+
+            @Override
+            protected void process(List<String> chunks) {
+                chunks.forEach(results::addElement);
+            }
+
+            @Override
+            protected void done() {
+                progressTimer.stop();
+                double seconds = (System.nanoTime() - begin) / 1e9;
+                progressBar.setValue((int) (scanner.getCheckedSeeds() * 1000 / seedCount));
+                statusLabel.setText(String.format("%s检查 %d 个种子，匹配 %d 个，用时 %.2f 秒（%.0f 种子/秒）",
+                    scanner.isStopped() ? "已停止，" : "", scanner.getCheckedSeeds(), scanner.getMatches(),
+                    seconds, scanner.getCheckedSeeds() / seconds));
+                stopButton.setText("关闭");
+            }
+        };
+        stopButton.addActionListener(e -> {
+            if (worker.isDone()) {
+                dialog.dispose();
+            } else {
+                scanner.stop();
+            }
+        });
+        dialog.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                scanner.stop();
+            }
+        });
+        dialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+
+        progressTimer.start();
+        worker.execute();
+        dialog.setVisible(true);
+    }
+
+    private void startSeedScrub() {
+        if (!chunkProvider.getEdition().usesWorldSeed()) {
+            scrubButton.setSelected(false);
+            JOptionPane.showMessageDialog(this, "基岩版的史莱姆区块与世界种子无关");
+            return;
+        }
+        chunkProvider.setAsync(false);
+        scrubTimer.start();
+    }
+
+    private void stopSeedScrub() {
+        scrubButton.setSelected(false);
+        if (!scrubTimer.isRunning()) {
+            return;
+        }
+        scrubTimer.stop();
+        chunkProvider.setAsync(true);
+        // 动画期间没有切换磁盘索引，停下后补上
+        onSeedChanged();
+    }
+
+    // Timer 会合并积压的事件，某帧计算慢时动画自动降速而不会排队
+    private void stepSeedScrub() {
+        double chunkPixels = 16 * coordSystem.getScale();
+        double visibleChunks = (coordSystem.getWidth() / chunkPixels + 1) * (coordSystem.getHeight() / chunkPixels + 1);
+        if (visibleChunks > SCRUB_MAX_CHUNKS) {
+            stopSeedScrub();
+            JOptionPane.showMessageDialog(this, "视野太大，请放大后再使用种子动画");
+            return;
+        }
+        currentSeed = SCRUB_RANDOM.equals(scrubModeBox.getSelectedItem()) ? scrubRandom.nextLong() : currentSeed + 1;
+        seedField.setText(Long.toString(currentSeed));
+        showSeed();
+    }
+
+    private void updateSeed(String seedText) {
+        stopSeedScrub();
+        try {
+            currentSeed = Long.parseLong(seedText);
+            onSeedChanged();
+            seedField.setText(Long.toString(currentSeed)); // 确保输入框同步
+            coordSystem.deselect();
+            coordSystem.setScale(1);
+            coordSystem.resetViewpoint();
+            coordSystem.repaint();
+            System.out.println("Seed updated and view reset to origin.");
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid seed format");
+            seedField.setText(Long.toString(currentSeed)); // 恢复为有效种子
+        }
+    }
+
+    public static void main(String[] args) {
+        // java -jar SlimeMapping.jar export ... 走无界面导出
+        if (args.length > 0 && "export".equals(args[0])) {
+            SlimeChunkExporter.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && "seeds".equals(args[0])) {
+            SlimeSeedScanner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && "recover".equals(args[0])) {
+            SlimeSeedRecovery.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && "serve".equals(args[0])) {
+            SlimeTileServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        EventQueue.invokeLater(() -> {
+            SlimeChunkMapping visualizer = new SlimeChunkMapping();
+            visualizer.setVisible(true);
+        });
+    }
+}
@@ -0,0 +1,272 @@
+package com.creatorcsie.slimemapping;
+
+// 史莱姆区块判定：用纯 long 运算复现 new Random(hash).nextInt(10) == 0，不分配任何对象
+// 基岩版改用 MT19937 的第一个输出，见 isBedrockSlimeChunk
+public final class SlimeChunkOracle {
+    // 游戏版本：两者的史莱姆区块公式不同
+    public enum Edition {
+        JAVA("Java 版"),
+        BEDROCK("基岩版");
+
+        private final String label;
+
+        Edition(String label) {
+            this.label = label;
+        }
+
+        public boolean isSlimeChunk(long worldSeed, int chunkX, int chunkZ) {
+            return this == BEDROCK
+                ? isBedrockSlimeChunk(chunkX, chunkZ)
+                : SlimeChunkOracle.isSlimeChunk(worldSeed, chunkX, chunkZ);
+        }
+
+        public void fillRow(long worldSeed, int chunkZ, int minChunkX, int width, long[] bits, int bitOffset) {
+            if (this == BEDROCK) {
+                fillRowBedrock(chunkZ, minChunkX, width, bits, bitOffset);
+            } else {
+                SlimeChunkOracle.fillRow(worldSeed, chunkZ, minChunkX, width, bits, bitOffset);
+            }
+        }
+
+        public void fillRect(long worldSeed, int minChunkX, int minChunkZ, int width, int height, long[] bits) {
+            if (this == JAVA) {
+                SlimeChunkOracle.fillRect(worldSeed, minChunkX, minChunkZ, width, height, bits);
+                return;
+            }
+            for (int dz = 0; dz < height; dz++) {
+                fillRow(worldSeed, minChunkZ + dz, minChunkX, width, bits, dz * width);
+            }
+        }
+
+        // 基岩版的结果与世界种子无关
+        public boolean usesWorldSeed() {
+            return this == JAVA;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+
+    static final long MAGIC_SEED = 987234911L;
+
+    // java.util.Random 的 LCG 参数
+    static final long MULTIPLIER = 0x5DEECE66DL;
+    static final long ADDEND = 0xBL;
+    static final long MASK = (1L << 48) - 1;
+
+    // 整行判定的实现：rowSeed 为种子加上该行 Z 坐标项
+    interface RowKernel {
+        void fillRow(long rowSeed, int minChunkX, int width, long[] bits, int bitOffset);
+    }
+
+    // 以 --add-modules jdk.incubator.vector 启动时使用向量实现，-Dslime.vector=false 可强制使用标量实现
+    private static final RowKernel SCALAR_KERNEL = SlimeChunkOracle::fillRowScalar;
+    private static final RowKernel ROW_KERNEL = selectRowKernel();
+
+    private SlimeChunkOracle() {
+    }
+
+    private static RowKernel selectRowKernel() {
+        if (!Boolean.parseBoolean(System.getProperty("slime.vector", "true"))
+                || !ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            return SCALAR_KERNEL;
+        }
+        try {
+            // 通过反射加载，模块不存在时不会链接向量 API 的类
+            return (RowKernel) Class.forName("com.creatorcsie.slimemapping.SlimeChunkVectorKernel")
+                .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            return SCALAR_KERNEL;
+        }
+    }
+
+    public static boolean isVectorized() {
+        return ROW_KERNEL != SCALAR_KERNEL;
+    }
+
+    public static boolean isSlimeChunk(long worldSeed, int chunkX, int chunkZ) {
+        return isSlimeHash(worldSeed + chunkTerm(chunkX, chunkZ));
+    }
+
+    // 与种子无关的坐标项；chunkX * chunkX 保持 int 乘法（与游戏一致，会溢出）
+    static long chunkTerm(int chunkX, int chunkZ) {
+        return (chunkX * chunkX * 4987142L)
+            + (chunkX * 5947611L)
+            + (chunkZ * chunkZ * 4392871L)
+            + (chunkZ * 389711L);
+    }
+
+    // hash = worldSeed + chunkTerm，依次做 Random 的种子扰动、LCG 一步和 nextInt(10)
+    static boolean isSlimeHash(long hash) {
+        long seed = ((hash ^ MAGIC_SEED) ^ MULTIPLIER) & MASK;
+        while (true) {
+            seed = (seed * MULTIPLIER + ADDEND) & MASK;
+            int bits = (int) (seed >>> 17);
+            int val = bits % 10;
+            // 与 Random.nextInt 相同的拒绝采样（几乎不会触发）
+            if (bits - val + 9 >= 0) {
+                return val == 0;
+            }
+        }
+    }
+
+    // 计算 chunkZ 这一行 [minChunkX, minChunkX + width) 的结果，写入 bits 的 bitOffset 起始位置
+    public static void fillRow(long worldSeed, int chunkZ, int minChunkX, int width, long[] bits, int bitOffset) {
+        ROW_KERNEL.fillRow(rowSeed(worldSeed, chunkZ), minChunkX, width, bits, bitOffset);
+    }
+
+    static long rowSeed(long worldSeed, int chunkZ) {
+        return worldSeed + (chunkZ * chunkZ * 4392871L) + (chunkZ * 389711L);
+    }
+
+    static void fillRowScalar(long rowSeed, int minChunkX, int width, long[] bits, int bitOffset) {
+        for (int i = 0; i < width; i++) {
+            int chunkX = minChunkX + i;
+            long hash = rowSeed + (chunkX * chunkX * 4987142L) + (chunkX * 5947611L);
+            int bit = bitOffset + i;
+            if (isSlimeHash(hash)) {
+                bits[bit >>> 6] |= 1L << bit;
+            } else {
+                bits[bit >>> 6] &= ~(1L << bit);
+            }
+        }
+    }
+
+    // MT19937 参数
+    static final int MT_M = 397;
+    static final int MT_INIT_MULTIPLIER = 1812433253;
+    static final int MT_MATRIX_A = 0x9908B0DF;
+    // 基岩版坐标种子的乘数
+    static final int BEDROCK_X_MULTIPLIER = 0x1F1F1F1F;
+
+    // 基岩版：以 (chunkX * 0x1f1f1f1f) ^ chunkZ（32 位无符号）初始化 MT19937，第一个输出 mod 10 == 0 即为史莱姆区块
+    public static boolean isBedrockSlimeChunk(int chunkX, int chunkZ) {
+        return Integer.remainderUnsigned(mtFirstOutput((chunkX * BEDROCK_X_MULTIPLIER) ^ chunkZ), 10) == 0;
+    }
+
+    // MT19937 的第一个输出只依赖状态字 mt[0]、mt[1] 和 mt[397]：
+    // 初始化递推到第 397 个字就停下，不需要 624 个字的状态数组，也不分配对象
+    static int mtFirstOutput(int seed) {
+        int mt1 = MT_INIT_MULTIPLIER * (seed ^ (seed >>> 30)) + 1;
+        int mtM = mt1;
+        for (int i = 2; i <= MT_M; i++) {
+            mtM = MT_INIT_MULTIPLIER * (mtM ^ (mtM >>> 30)) + i;
+        }
+        return mtTemper(seed, mt1, mtM);
+    }
+
+    // 第一次重排只更新 mt[0]，再做输出变换（tempering）
+    private static int mtTemper(int mt0, int mt1, int mtM) {
+        int y = (mt0 & 0x80000000) | (mt1 & 0x7FFFFFFF);
+        y = mtM ^ (y >>> 1) ^ (-(y & 1) & MT_MATRIX_A);
+        y ^= y >>> 11;
+        y ^= (y << 7) & 0x9D2C5680;
+        y ^= (y << 15) & 0xEFC60000;
+        return y ^ (y >>> 18);
+    }
+
+    // 初始化递推是一条串行依赖链，整行时四个区块交错计算，让乘法流水线保持满载
+    static void fillRowBedrock(int chunkZ, int minChunkX, int width, long[] bits, int bitOffset) {
+        int i = 0;
+        for (; i + 4 <= width; i += 4) {
+            int s0 = ((minChunkX + i) * BEDROCK_X_MULTIPLIER) ^ chunkZ;
+            int s1 = ((minChunkX + i + 1) * BEDROCK_X_MULTIPLIER) ^ chunkZ;
+            int s2 = ((minChunkX + i + 2) * BEDROCK_X_MULTIPLIER) ^ chunkZ;
+            int s3 = ((minChunkX + i + 3) * BEDROCK_X_MULTIPLIER) ^ chunkZ;
+            int a1 = MT_INIT_MULTIPLIER * (s0 ^ (s0 >>> 30)) + 1;
+            int b1 = MT_INIT_MULTIPLIER * (s1 ^ (s1 >>> 30)) + 1;
+            int c1 = MT_INIT_MULTIPLIER * (s2 ^ (s2 >>> 30)) + 1;
+            int d1 = MT_INIT_MULTIPLIER * (s3 ^ (s3 >>> 30)) + 1;
+            int a = a1, b = b1, c = c1, d = d1;
+            for (int k = 2; k <= MT_M; k++) {
+                a = MT_INIT_MULTIPLIER * (a ^ (a >>> 30)) + k;
+                b = MT_INIT_MULTIPLIER * (b ^ (b >>> 30)) + k;
+                c = MT_INIT_MULTIPLIER * (c ^ (c >>> 30)) + k;
+                d = MT_INIT_MULTIPLIER * (d ^ (d >>> 30)) + k;
+            }
+            setBit(bits, bitOffset + i, Integer.remainderUnsigned(mtTemper(s0, a1, a), 10) == 0);
+            setBit(bits, bitOffset + i + 1, Integer.remainderUnsigned(mtTemper(s1, b1, b), 10) == 0);
+            setBit(bits, bitOffset + i + 2, Integer.remainderUnsigned(mtTemper(s2, c1, c), 10) == 0);
+            setBit(bits, bitOffset + i + 3, Integer.remainderUnsigned(mtTemper(s3, d1, d), 10) == 0);
+        }
+        for (; i < width; i++) {
+            setBit(bits, bitOffset + i, isBedrockSlimeChunk(minChunkX + i, chunkZ));
+        }
+    }
+
+    private static void setBit(long[] bits, int bit, boolean value) {
+        if (value) {
+            bits[bit >>> 6] |= 1L << bit;
+        } else {
+            bits[bit >>> 6] &= ~(1L << bit);
+        }
+    }
+
+    // 按行优先顺序填充整个矩形，第 (dx, dz) 个区块对应 bit dz * width + dx
+    // 标量实现先建坐标项表，向量实现在通道内计算坐标项更快
+    public static void fillRect(long worldSeed, int minChunkX, int minChunkZ, int width, int height, long[] bits) {
+        if (!isVectorized()) {
+            fillRectTerms(worldSeed, rectTerms(minChunkX, minChunkZ, width, height), width, height, bits);
+            return;
+        }
+        for (int dz = 0; dz < height; dz++) {
+            fillRow(worldSeed, minChunkZ + dz, minChunkX, width, bits, dz * width);
+        }
+    }
+
+    // 矩形的坐标项表：chunkTerm 可拆成 X 项与 Z 项之和，前 width 个为各列的 X 项，后 height 个为各行的 Z 项；
+    // 与种子无关，一个瓦片只需 128 个 long
+    static long[] rectTerms(int minChunkX, int minChunkZ, int width, int height) {
+        long[] terms = new long[width + height];
+        for (int i = 0; i < width; i++) {
+            int chunkX = minChunkX + i;
+            terms[i] = (chunkX * chunkX * 4987142L) + (chunkX * 5947611L);
+        }
+        for (int i = 0; i < height; i++) {
+            int chunkZ = minChunkZ + i;
+            terms[width + i] = (chunkZ * chunkZ * 4392871L) + (chunkZ * 389711L);
+        }
+        return terms;
+    }
+
+    // 按坐标项表填充矩形：每个区块只剩加法、种子扰动和一步 LCG；每 64 个结果在寄存器中拼成一个 long 再写入
+    static void fillRectTerms(long worldSeed, long[] terms, int width, int height, long[] bits) {
+        for (int dz = 0; dz < height; dz++) {
+            long rowSeed = worldSeed + terms[width + dz];
+            for (int i = 0; i < width; i += 64) {
+                int count = Math.min(64, width - i);
+                long word = 0;
+                for (int k = 0; k < count; k++) {
+                    if (isSlimeHash(rowSeed + terms[i + k])) {
+                        word |= 1L << k;
+                    }
+                }
+                writeBits(bits, dz * width + i, count, word);
+            }
+        }
+    }
+
+    // 把 value 的低 count 位（count <= 64）写入 bits 的 bit 起始位置，可跨越两个 long
+    static void writeBits(long[] bits, int bit, int count, long value) {
+        int word = bit >>> 6;
+        int shift = bit & 63;
+        long mask = count == 64 ? -1L : (1L << count) - 1;
+        value &= mask;
+        bits[word] = (bits[word] & ~(mask << shift)) | (value << shift);
+        if (shift + count > 64) {
+            long highMask = mask >>> (64 - shift);
+            bits[word + 1] = (bits[word + 1] & ~highMask) | (value >>> (64 - shift));
+        }
+    }
+
+    public static int wordsFor(int width, int height) {
+        return (int) (((long) width * height + 63) >>> 6);
+    }
+
+    public static boolean testBit(long[] bits, int bit) {
+        return (bits[bit >>> 6] & (1L << bit)) != 0;
+    }
+}
@@ -0,0 +1,250 @@
+package com.creatorcsie.slimemapping;
+
+import java.awt.Color;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 史莱姆区块的绘制数据：同时提供 ChunkData 列表和 ARGB 栅格两种形式，都经过瓦片缓存读取；
+// 缩得很小时改由密度金字塔提供热力图
+public class SlimeChunkProvider implements CoordinateSystem.ChunkProvider, CoordinateSystem.ChunkRasterProvider,
+        CoordinateSystem.DensityRasterProvider, CoordinateSystem.ViewportListener {
+    // 热力图配色：按史莱姆区块占比从 NORMAL_COLOR 经 SLIME_COLOR（平均 10%）渐变到 DENSE_COLOR（20% 及以上）
+    private static final int DENSITY_STEPS = 256;
+    private static final double DENSITY_FULL = 0.2;
+    private static final int[] DENSITY_ARGB = densityRamp();
+
+    private final ChunkTileCache tileCache;
+    private SlimeDensityPyramid densityPyramid;
+    // true：未缓存的瓦片交给后台计算并先画占位；false：当场计算（无界面、测试或种子动画时使用）
+    private volatile boolean async;
+    private volatile long seed;
+
+    public SlimeChunkProvider(ChunkTileCache tileCache, boolean async) {
+        this.tileCache = tileCache;
+        this.async = async;
+    }
+
+    public void setDensityPyramid(SlimeDensityPyramid densityPyramid) {
+        this.densityPyramid = densityPyramid;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public SlimeChunkOracle.Edition getEdition() {
+        return tileCache.getEdition();
+    }
+
+    // 切换游戏版本，瓦片缓存随之清空；密度金字塔由调用方一并清空
+    public void setEdition(SlimeChunkOracle.Edition edition) {
+        tileCache.setEdition(edition);
+    }
+
+    private LongBuffer tile(long seed, int tileX, int tileZ) {
+        return async ? tileCache.peekTile(seed, tileX, tileZ) : tileCache.getTile(seed, tileX, tileZ);
+    }
+
+    @Override
+    public List<CoordinateSystem.ChunkData> getVisibleChunks(double left, double right, double top, double bottom) {
+        final int MAX_CHUNK = SlimeChunkMapping.MAX_CHUNK;
+        long seed = this.seed;
+        // 根据图片坐标范围优化查询范围
+        int minChunkX = (int) Math.floor(left / 16) - 1; // 扩展查询边界
+        int maxChunkX = (int) Math.ceil(right / 16) + 1;
+        int minChunkZ = (int) Math.floor(top / 16) - 1;
+        int maxChunkZ = (int) Math.ceil(bottom / 16) + 1;
+
+        // 超出世界边界的区块不绘制
+        minChunkX = Math.max(minChunkX, -MAX_CHUNK);
+        maxChunkX = Math.min(maxChunkX, MAX_CHUNK);
+        minChunkZ = Math.max(minChunkZ, -MAX_CHUNK);
+        maxChunkZ = Math.min(maxChunkZ, MAX_CHUNK);
+
+        ArrayList<CoordinateSystem.ChunkData> chunks = new ArrayList<>();
+        if (minChunkX > maxChunkX || minChunkZ > maxChunkZ) {
+            return chunks;
+        }
+        // 按瓦片遍历，已缓存的瓦片无需重新计算
+        for (int tileZ = minChunkZ >> ChunkTileCache.TILE_SHIFT; tileZ <= maxChunkZ >> ChunkTileCache.TILE_SHIFT; tileZ++) {
+            for (int tileX = minChunkX >> ChunkTileCache.TILE_SHIFT; tileX <= maxChunkX >> ChunkTileCache.TILE_SHIFT; tileX++) {
+                LongBuffer tile = tile(seed, tileX, tileZ);
+                int fromX = Math.max(minChunkX, tileX << ChunkTileCache.TILE_SHIFT);
+                int toX = Math.min(maxChunkX, (tileX << ChunkTileCache.TILE_SHIFT) + ChunkTileCache.TILE_MASK);
+                int fromZ = Math.max(minChunkZ, tileZ << ChunkTileCache.TILE_SHIFT);
+                int toZ = Math.min(maxChunkZ, (tileZ << ChunkTileCache.TILE_SHIFT) + ChunkTileCache.TILE_MASK);
+                if (tile == null) {
+                    // 尚未计算完成，先画一块占位
+                    chunks.add(new CoordinateSystem.ChunkData(
+                        fromX * 16, fromZ * 16, (toX - fromX + 1) * 16, (toZ - fromZ + 1) * 16, SlimeChunkMapping.PENDING_COLOR));
+                    continue;
+                }
+                for (int chunkX = fromX; chunkX <= toX; chunkX++) {
+                    for (int chunkZ = fromZ; chunkZ <= toZ; chunkZ++) {
+                        // 生成精确的16x16方块区域坐标（匹配图片中的-8,0区块）
+                        chunks.add(new CoordinateSystem.ChunkData(
+                            chunkX * 16, chunkZ * 16, 16, 16, // 严格对应16x16区域
+                            ChunkTileCache.testBit(tile, chunkX & ChunkTileCache.TILE_MASK, chunkZ & ChunkTileCache.TILE_MASK)
+                                ? SlimeChunkMapping.SLIME_COLOR
+                                : SlimeChunkMapping.NORMAL_COLOR
+                        ));
+                    }
+                }
+            }
+        }
+        return chunks;
+    }
+
+    // 缩小视图时的栅格路径：直接把区块颜色写入 ARGB 缓冲区，不创建 ChunkData
+    @Override
+    public void fillChunkRaster(int minChunkX, int minChunkZ, int width, int height, int[] argb) {
+        fillChunkRaster(seed, minChunkX, minChunkZ, width, height, argb);
+    }
+
+    // 指定种子的版本，供同时服务多个种子的调用方（如瓦片服务）使用
+    public void fillChunkRaster(long seed, int minChunkX, int minChunkZ, int width, int height, int[] argb) {
+        final int MAX_CHUNK = SlimeChunkMapping.MAX_CHUNK;
+        int slimeArgb = SlimeChunkMapping.SLIME_COLOR.getRGB();
+        int normalArgb = SlimeChunkMapping.NORMAL_COLOR.getRGB();
+        int pendingArgb = SlimeChunkMapping.PENDING_COLOR.getRGB();
+        int maxChunkX = minChunkX + width - 1;
+        int maxChunkZ = minChunkZ + height - 1;
+        int fromChunkX = Math.max(minChunkX, -MAX_CHUNK);
+        int toChunkX = Math.min(maxChunkX, MAX_CHUNK);
+        int fromChunkZ = Math.max(minChunkZ, -MAX_CHUNK);
+        int toChunkZ = Math.min(maxChunkZ, MAX_CHUNK);
+
+        Arrays.fill(argb, 0, width * height, 0);
+        if (fromChunkX > toChunkX || fromChunkZ > toChunkZ) {
+            return;
+        }
+        for (int tileZ = fromChunkZ >> ChunkTileCache.TILE_SHIFT; tileZ <= toChunkZ >> ChunkTileCache.TILE_SHIFT; tileZ++) {
+            for (int tileX = fromChunkX >> ChunkTileCache.TILE_SHIFT; tileX <= toChunkX >> ChunkTileCache.TILE_SHIFT; tileX++) {
+                LongBuffer tile = tile(seed, tileX, tileZ);
+                int fromX = Math.max(fromChunkX, tileX << ChunkTileCache.TILE_SHIFT);
+                int toX = Math.min(toChunkX, (tileX << ChunkTileCache.TILE_SHIFT) + ChunkTileCache.TILE_MASK);
+                int fromZ = Math.max(fromChunkZ, tileZ << ChunkTileCache.TILE_SHIFT);
+                int toZ = Math.min(toChunkZ, (tileZ << ChunkTileCache.TILE_SHIFT) + ChunkTileCache.TILE_MASK);
+                for (int chunkZ = fromZ; chunkZ <= toZ; chunkZ++) {
+                    int row = (chunkZ - minChunkZ) * width - minChunkX;
+                    if (tile == null) {
+                        Arrays.fill(argb, row + fromX, row + toX + 1, pendingArgb);
+                        continue;
+                    }
+                    for (int chunkX = fromX; chunkX <= toX; chunkX++) {
+                        argb[row + chunkX] = ChunkTileCache.testBit(tile, chunkX & ChunkTileCache.TILE_MASK, chunkZ & ChunkTileCache.TILE_MASK)
+                            ? slimeArgb
+                            : normalArgb;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getMaxDensityLevel() {
+        return densityPyramid == null ? 0 : SlimeDensityPyramid.MAX_LEVEL;
+    }
+
+    // 每个格子为 2^level x 2^level 个区块，颜色取决于其中史莱姆区块的占比
+    @Override
+    public void fillDensityRaster(int level, int minCellX, int minCellZ, int width, int height, int[] argb) {
+        final int MAX_CHUNK = SlimeChunkMapping.MAX_CHUNK;
+        long seed = this.seed;
+        int pendingArgb = SlimeChunkMapping.PENDING_COLOR.getRGB();
+        int cellArea = 1 << (level * 2);
+        // 与世界有交集的格子范围
+        int fromCellX = Math.max(minCellX, -MAX_CHUNK >> level);
+        int toCellX = Math.min(minCellX + width - 1, MAX_CHUNK >> level);
+        int fromCellZ = Math.max(minCellZ, -MAX_CHUNK >> level);
+        int toCellZ = Math.min(minCellZ + height - 1, MAX_CHUNK >> level);
+
+        Arrays.fill(argb, 0, width * height, 0);
+        if (fromCellX > toCellX || fromCellZ > toCellZ) {
+            return;
+        }
+        final int SHIFT = SlimeDensityPyramid.BLOCK_SHIFT;
+        final int MASK = SlimeDensityPyramid.BLOCK_SIZE - 1;
+        for (int blockZ = fromCellZ >> SHIFT; blockZ <= toCellZ >> SHIFT; blockZ++) {
+            for (int blockX = fromCellX >> SHIFT; blockX <= toCellX >> SHIFT; blockX++) {
+                short[] counts = async
+                    ? densityPyramid.peekBlock(seed, level, blockX, blockZ)
+                    : densityPyramid.getBlock(seed, level, blockX, blockZ);
+                int fromX = Math.max(fromCellX, blockX << SHIFT);
+                int toX = Math.min(toCellX, (blockX << SHIFT) + MASK);
+                int fromZ = Math.max(fromCellZ, blockZ << SHIFT);
+                int toZ = Math.min(toCellZ, (blockZ << SHIFT) + MASK);
+                for (int cellZ = fromZ; cellZ <= toZ; cellZ++) {
+                    int row = (cellZ - minCellZ) * width - minCellX;
+                    if (counts == null) {
+                        Arrays.fill(argb, row + fromX, row + toX + 1, pendingArgb);
+                        continue;
+                    }
+                    int src = (cellZ & MASK) << SHIFT;
+                    for (int cellX = fromX; cellX <= toX; cellX++) {
+                        int step = (int) ((long) counts[src + (cellX & MASK)] * DENSITY_STEPS / (cellArea * DENSITY_FULL));
+                        argb[row + cellX] = DENSITY_ARGB[Math.min(DENSITY_STEPS - 1, step)];
+                    }
+                }
+            }
+        }
+    }
+
+    private static int[] densityRamp() {
+        int[] ramp = new int[DENSITY_STEPS];
+        for (int i = 0; i < DENSITY_STEPS; i++) {
+            double t = i / (double) (DENSITY_STEPS - 1);
+            ramp[i] = t < 0.5
+                ? lerp(SlimeChunkMapping.NORMAL_COLOR, SlimeChunkMapping.SLIME_COLOR, t * 2)
+                : lerp(SlimeChunkMapping.SLIME_COLOR, SlimeChunkMapping.DENSE_COLOR, t * 2 - 1);
+        }
+        return ramp;
+    }
+
+    private static int lerp(Color from, Color to, double t) {
+        int a = (int) Math.round(from.getAlpha() + (to.getAlpha() - from.getAlpha()) * t);
+        int r = (int) Math.round(from.getRed() + (to.getRed() - from.getRed()) * t);
+        int g = (int) Math.round(from.getGreen() + (to.getGreen() - from.getGreen()) * t);
+        int b = (int) Math.round(from.getBlue() + (to.getBlue() - from.getBlue()) * t);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    // 视图（offset / scale / 种子）变化后，取消已移出视野或属于旧种子的后台任务
+    // 地图层只局部重绘时各次取数的范围小于视野，因此按整个视野而不是按取数范围筛选；
+    // 每个视图使用自己的 provider，缓存按 provider 分别记录范围，仍在其他视图范围内的任务不会被取消
+    @Override
+    public void viewportChanged(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ, int densityLevel) {
+        if (!async) {
+            return;
+        }
+        long seed = this.seed;
+        // 空范围（max < min）表示取消全部
+        if (densityLevel == 0) {
+            tileCache.retainPending(this, seed,
+                minChunkX >> ChunkTileCache.TILE_SHIFT, minChunkZ >> ChunkTileCache.TILE_SHIFT,
+                maxChunkX >> ChunkTileCache.TILE_SHIFT, maxChunkZ >> ChunkTileCache.TILE_SHIFT);
+            if (densityPyramid != null) {
+                densityPyramid.retainPending(this, seed, 0, 0, 0, -1, -1);
+            }
+        } else {
+            int shift = densityLevel + SlimeDensityPyramid.BLOCK_SHIFT;
+            tileCache.retainPending(this, seed, 0, 0, -1, -1);
+            densityPyramid.retainPending(this, seed, densityLevel,
+                minChunkX >> shift, minChunkZ >> shift, maxChunkX >> shift, maxChunkZ >> shift);
+        }
+    }
+}
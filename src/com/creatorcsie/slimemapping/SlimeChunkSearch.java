@@ -0,0 +1,147 @@
+package com.creatorcsie.slimemapping;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.List;
+
+// 最近史莱姆区块查询：按切比雪夫距离逐圈向外扩展，确定不可能有更近结果时立即停止，只受世界边界限制
+public final class SlimeChunkSearch {
+    // 出生点区块：以 (0, 0) 为中心的 19x19 区块
+    public static final int SPAWN_CHUNK_RADIUS = 9;
+
+    // 区块判定来源，例如直接计算或经过瓦片缓存 / 磁盘索引读取
+    public interface SlimeSource {
+        boolean isSlimeChunk(int chunkX, int chunkZ);
+    }
+
+    private SlimeChunkSearch() {
+    }
+
+    // 离 (chunkX, chunkZ) 最近的史莱姆区块，找不到时返回 null
+    public static Point nearest(long seed, int chunkX, int chunkZ, boolean excludeSpawn) {
+        List<Point> result = nearest(seed, chunkX, chunkZ, 1, excludeSpawn);
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    public static Point nearest(SlimeSource source, int chunkX, int chunkZ, boolean excludeSpawn) {
+        List<Point> result = nearest(source, chunkX, chunkZ, 1, excludeSpawn);
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    // 离 (chunkX, chunkZ) 最近的 k 个史莱姆区块，按欧氏距离升序
+    public static List<Point> nearest(long seed, int chunkX, int chunkZ, int k, boolean excludeSpawn) {
+        return nearest((x, z) -> SlimeChunkOracle.isSlimeChunk(seed, x, z), chunkX, chunkZ, k, excludeSpawn);
+    }
+
+    public static List<Point> nearest(SlimeSource source, int chunkX, int chunkZ, int k, boolean excludeSpawn) {
+        Nearest best = new Nearest(Math.max(1, k));
+        final int max = SlimeChunkMapping.MAX_CHUNK;
+        for (long r = 0; ; r++) {
+            // 第 r 圈上的点距离至少为 r，已有 k 个结果且都不比 r 远时停止
+            if (best.isFull() && best.worstDistance() <= r * r) {
+                break;
+            }
+            long left = chunkX - r;
+            long right = chunkX + r;
+            long top = chunkZ - r;
+            long bottom = chunkZ + r;
+            if (left < -max && right > max && top < -max && bottom > max) {
+                break; // 之后的圈都在世界边界之外
+            }
+            long fromX = Math.max(left, -max);
+            long toX = Math.min(right, max);
+            long fromZ = Math.max(top + 1, -max);
+            long toZ = Math.min(bottom - 1, max);
+            if (top >= -max && top <= max) {
+                scanRow(source, chunkX, chunkZ, (int) top, fromX, toX, excludeSpawn, best);
+            }
+            if (r > 0 && bottom >= -max && bottom <= max) {
+                scanRow(source, chunkX, chunkZ, (int) bottom, fromX, toX, excludeSpawn, best);
+            }
+            if (left >= -max && left <= max) {
+                scanColumn(source, chunkX, chunkZ, (int) left, fromZ, toZ, excludeSpawn, best);
+            }
+            if (r > 0 && right >= -max && right <= max) {
+                scanColumn(source, chunkX, chunkZ, (int) right, fromZ, toZ, excludeSpawn, best);
+            }
+        }
+        return best.toList();
+    }
+
+    private static void scanRow(SlimeSource source, int chunkX, int chunkZ, int z, long fromX, long toX,
+                                boolean excludeSpawn, Nearest best) {
+        for (long x = fromX; x <= toX; x++) {
+            test(source, chunkX, chunkZ, (int) x, z, excludeSpawn, best);
+        }
+    }
+
+    private static void scanColumn(SlimeSource source, int chunkX, int chunkZ, int x, long fromZ, long toZ,
+                                   boolean excludeSpawn, Nearest best) {
+        for (long z = fromZ; z <= toZ; z++) {
+            test(source, chunkX, chunkZ, x, (int) z, excludeSpawn, best);
+        }
+    }
+
+    private static void test(SlimeSource source, int chunkX, int chunkZ, int x, int z, boolean excludeSpawn, Nearest best) {
+        if (excludeSpawn && isSpawnChunk(x, z)) {
+            return;
+        }
+        long dx = x - chunkX;
+        long dz = z - chunkZ;
+        long distance = dx * dx + dz * dz;
+        if (best.accepts(distance) && source.isSlimeChunk(x, z)) {
+            best.add(x, z, distance);
+        }
+    }
+
+    public static boolean isSpawnChunk(int chunkX, int chunkZ) {
+        return Math.abs(chunkX) <= SPAWN_CHUNK_RADIUS && Math.abs(chunkZ) <= SPAWN_CHUNK_RADIUS;
+    }
+
+    // 按距离升序保存的前 k 个结果
+    private static final class Nearest {
+        private final int[] xs;
+        private final int[] zs;
+        private final long[] distances;
+        private int size;
+
+        Nearest(int k) {
+            xs = new int[k];
+            zs = new int[k];
+            distances = new long[k];
+        }
+
+        boolean isFull() {
+            return size == distances.length;
+        }
+
+        long worstDistance() {
+            return distances[size - 1];
+        }
+
+        boolean accepts(long distance) {
+            return !isFull() || distance < worstDistance();
+        }
+
+        void add(int x, int z, long distance) {
+            int pos = isFull() ? size - 1 : size++;
+            while (pos > 0 && distances[pos - 1] > distance) {
+                xs[pos] = xs[pos - 1];
+                zs[pos] = zs[pos - 1];
+                distances[pos] = distances[pos - 1];
+                pos--;
+            }
+            xs[pos] = x;
+            zs[pos] = z;
+            distances[pos] = distance;
+        }
+
+        List<Point> toList() {
+            List<Point> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(new Point(xs[i], zs[i]));
+            }
+            return list;
+        }
+    }
+}
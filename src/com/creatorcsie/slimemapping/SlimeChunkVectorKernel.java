@@ -0,0 +1,64 @@
+package com.creatorcsie.slimemapping;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// 向量 API 实现的整行判定，结果与 SlimeChunkOracle.fillRowScalar 逐位一致；只能通过反射加载
+final class SlimeChunkVectorKernel implements SlimeChunkOracle.RowKernel {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final LongVector IOTA;
+
+    static {
+        long[] iota = new long[LANES];
+        for (int i = 0; i < LANES; i++) {
+            iota[i] = i;
+        }
+        IOTA = LongVector.fromArray(SPECIES, iota, 0);
+    }
+
+    // 31 位数以内 n / 10 == (n * 0xCCCCCCCD) >>> 35
+    private static final long DIV10_MAGIC = 0xCCCCCCCDL;
+    // Random.nextInt(10) 在 bits >= 2147483640 时会拒绝并重新取数，这些通道交给标量实现
+    private static final long REJECT_THRESHOLD = 2147483640L;
+
+    @Override
+    public void fillRow(long rowSeed, int minChunkX, int width, long[] bits, int bitOffset) {
+        int i = 0;
+        for (; i + LANES <= width; i += LANES) {
+            LongVector x = IOTA.add(minChunkX + i);
+            // chunkX * chunkX 为 int 乘法：取 long 乘积的低 32 位并符号扩展
+            LongVector xx = x.mul(x).lanewise(VectorOperators.LSHL, 32).lanewise(VectorOperators.ASHR, 32);
+            LongVector hash = xx.mul(4987142L).add(x.mul(5947611L)).add(rowSeed);
+            LongVector seed = hash.lanewise(VectorOperators.XOR, SlimeChunkOracle.MAGIC_SEED ^ SlimeChunkOracle.MULTIPLIER)
+                .and(SlimeChunkOracle.MASK);
+            seed = seed.mul(SlimeChunkOracle.MULTIPLIER).add(SlimeChunkOracle.ADDEND).and(SlimeChunkOracle.MASK);
+            LongVector n = seed.lanewise(VectorOperators.LSHR, 17);
+            LongVector quotient = n.mul(DIV10_MAGIC).lanewise(VectorOperators.LSHR, 35);
+            long slime = n.sub(quotient.mul(10L)).compare(VectorOperators.EQ, 0L).toLong();
+
+            VectorMask<Long> reject = n.compare(VectorOperators.GE, REJECT_THRESHOLD);
+            if (reject.anyTrue()) {
+                long rejected = reject.toLong();
+                for (int lane = 0; lane < LANES; lane++) {
+                    if ((rejected & (1L << lane)) != 0) {
+                        int chunkX = minChunkX + i + lane;
+                        boolean isSlime = SlimeChunkOracle.isSlimeHash(rowSeed + (chunkX * chunkX * 4987142L) + (chunkX * 5947611L));
+                        slime = isSlime ? slime | (1L << lane) : slime & ~(1L << lane);
+                    }
+                }
+            }
+            SlimeChunkOracle.writeBits(bits, bitOffset + i, LANES, slime);
+        }
+        if (i < width) {
+            SlimeChunkOracle.fillRowScalar(rowSeed, minChunkX + i, width - i, bits, bitOffset + i);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "vector(" + LANES + " lanes)";
+    }
+}
@@ -0,0 +1,316 @@
+package com.creatorcsie.slimemapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 史莱姆密集区搜索：把区域切成块并行处理，每块用积分图统计窗口内的史莱姆区块数，返回前 K 个位置
+public class SlimeClusterFinder {
+    // 每个块包含的候选中心区块边长
+    private static final int BLOCK_SIZE = 256;
+    // 每个叶子任务最多处理的块数
+    private static final int LEAF_BLOCKS = 4;
+
+    // 统计窗口：相对中心区块的若干矩形（dx0..dx1, dz0..dz1，均含端点）
+    public static final class Shape {
+        final String name;
+        final int[] dx0;
+        final int[] dx1;
+        final int[] dz0;
+        final int[] dz1;
+        final int minDx;
+        final int maxDx;
+        final int minDz;
+        final int maxDz;
+        // 相似结果之间的最小间距（区块）
+        final int separation;
+
+        private Shape(String name, List<int[]> rects, int separation) {
+            this.name = name;
+            this.separation = separation;
+            int n = rects.size();
+            dx0 = new int[n];
+            dx1 = new int[n];
+            dz0 = new int[n];
+            dz1 = new int[n];
+            int lx = Integer.MAX_VALUE, hx = Integer.MIN_VALUE, lz = Integer.MAX_VALUE, hz = Integer.MIN_VALUE;
+            for (int i = 0; i < n; i++) {
+                int[] r = rects.get(i);
+                dx0[i] = r[0];
+                dx1[i] = r[1];
+                dz0[i] = r[2];
+                dz1[i] = r[3];
+                lx = Math.min(lx, r[0]);
+                hx = Math.max(hx, r[1]);
+                lz = Math.min(lz, r[2]);
+                hz = Math.max(hz, r[3]);
+            }
+            minDx = lx;
+            maxDx = hx;
+            minDz = lz;
+            maxDz = hz;
+        }
+
+        // size x size 区块的正方形窗口
+        public static Shape square(int size) {
+            int lo = -(size / 2);
+            List<int[]> rects = new ArrayList<>();
+            rects.add(new int[] {lo, lo + size - 1, lo, lo + size - 1});
+            return new Shape(size + "x" + size + " 区块", rects, size);
+        }
+
+        // 以中心区块为挂机点，区块中心距离不超过 blocks 格的所有区块
+        public static Shape radius(int blocks) {
+            double r = blocks / 16.0;
+            int reach = (int) Math.floor(r);
+            List<int[]> rects = new ArrayList<>();
+            int runStart = -reach;
+            int runHalf = halfWidth(r, -reach);
+            for (int dz = -reach + 1; dz <= reach + 1; dz++) {
+                int half = dz <= reach ? halfWidth(r, dz) : -1;
+                if (half != runHalf) {
+                    // 半宽相同的连续行合并成一个矩形
+                    rects.add(new int[] {-runHalf, runHalf, runStart, dz - 1});
+                    runStart = dz;
+                    runHalf = half;
+                }
+            }
+            return new Shape(blocks + " 格范围", rects, reach);
+        }
+
+        private static int halfWidth(double r, int dz) {
+            return (int) Math.floor(Math.sqrt(r * r - (double) dz * dz));
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    public static final class Cluster {
+        public final int chunkX;
+        public final int chunkZ;
+        public final int count;
+
+        Cluster(int chunkX, int chunkZ, int count) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.count = count;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d 个史莱姆区块 @ 方块 (%d, %d) 区块 (%d, %d)",
+                count, chunkX * 16 + 8, chunkZ * 16 + 8, chunkX, chunkZ);
+        }
+    }
+
+    private final long seed;
+    private final SlimeChunkOracle.Edition edition;
+    private final Shape shape;
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int maxChunkX;
+    private final int maxChunkZ;
+    private final int topK;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final AtomicLong scanned = new AtomicLong();
+
+    // 候选中心区块范围会收缩到窗口完全处于世界边界内
+    public SlimeClusterFinder(long seed, Shape shape, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ, int topK) {
+        this(SlimeChunkOracle.Edition.JAVA, seed, shape, minChunkX, minChunkZ, maxChunkX, maxChunkZ, topK);
+    }
+
+    public SlimeClusterFinder(SlimeChunkOracle.Edition edition, long seed, Shape shape,
+            int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ, int topK) {
+        this.edition = edition;
+        this.seed = seed;
+        this.shape = shape;
+        this.minChunkX = Math.max(minChunkX, -SlimeChunkMapping.MAX_CHUNK - shape.minDx);
+        this.minChunkZ = Math.max(minChunkZ, -SlimeChunkMapping.MAX_CHUNK - shape.minDz);
+        this.maxChunkX = Math.min(maxChunkX, SlimeChunkMapping.MAX_CHUNK - shape.maxDx);
+        this.maxChunkZ = Math.min(maxChunkZ, SlimeChunkMapping.MAX_CHUNK - shape.maxDz);
+        this.topK = Math.max(1, topK);
+    }
+
+    public long getTotalChunks() {
+        if (minChunkX > maxChunkX || minChunkZ > maxChunkZ) {
+            return 0;
+        }
+        return (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+    }
+
+    public long getScannedChunks() {
+        return scanned.get();
+    }
+
+    public double getProgress() {
+        long total = getTotalChunks();
+        return total == 0 ? 1.0 : (double) scanned.get() / total;
+    }
+
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    // 取消后返回已扫描部分中的结果
+    public List<Cluster> search(ForkJoinPool pool) {
+        if (getTotalChunks() == 0) {
+            return new ArrayList<>();
+        }
+        int blocksX = (int) (((long) maxChunkX - minChunkX) / BLOCK_SIZE + 1);
+        int blocksZ = (int) (((long) maxChunkZ - minChunkZ) / BLOCK_SIZE + 1);
+        return pool.invoke(new BlockTask(0, blocksX * blocksZ, blocksX)).toList();
+    }
+
+    private final class BlockTask extends RecursiveTask<TopK> {
+        private final int from;
+        private final int to;
+        private final int blocksX;
+
+        BlockTask(int from, int to, int blocksX) {
+            this.from = from;
+            this.to = to;
+            this.blocksX = blocksX;
+        }
+
+        @Override
+        protected TopK compute() {
+            if (to - from <= LEAF_BLOCKS) {
+                TopK best = new TopK(topK, shape.separation);
+                for (int i = from; i < to && !cancelled.get(); i++) {
+                    int bx = minChunkX + (i % blocksX) * BLOCK_SIZE;
+                    int bz = minChunkZ + (i / blocksX) * BLOCK_SIZE;
+                    scanBlock(bx, bz, Math.min(maxChunkX, bx + BLOCK_SIZE - 1), Math.min(maxChunkZ, bz + BLOCK_SIZE - 1), best);
+                }
+                return best;
+            }
+            int mid = (from + to) >>> 1;
+            BlockTask left = new BlockTask(from, mid, blocksX);
+            left.fork();
+            TopK right = new BlockTask(mid, to, blocksX).compute();
+            TopK merged = left.join();
+            merged.mergeFrom(right);
+            return merged;
+        }
+    }
+
+    private void scanBlock(int fromX, int fromZ, int toX, int toZ, TopK best) {
+        // 位图覆盖候选范围加上窗口外延
+        int regionX = fromX + shape.minDx;
+        int regionZ = fromZ + shape.minDz;
+        int width = toX - fromX + 1 + shape.maxDx - shape.minDx;
+        int height = toZ - fromZ + 1 + shape.maxDz - shape.minDz;
+        long[] bits = new long[SlimeChunkOracle.wordsFor(width, height)];
+        edition.fillRect(seed, regionX, regionZ, width, height, bits);
+
+        // 积分图：sat[(z + 1) * stride + (x + 1)] 为 [0..x] x [0..z] 内的史莱姆区块数
+        int stride = width + 1;
+        int[] sat = new int[stride * (height + 1)];
+        for (int z = 0; z < height; z++) {
+            int rowSum = 0;
+            int rowBit = z * width;
+            int base = (z + 1) * stride;
+            for (int x = 0; x < width; x++) {
+                if (SlimeChunkOracle.testBit(bits, rowBit + x)) {
+                    rowSum++;
+                }
+                sat[base + x + 1] = sat[base - stride + x + 1] + rowSum;
+            }
+        }
+
+        int rects = shape.dx0.length;
+        for (int cz = fromZ; cz <= toZ; cz++) {
+            int z = cz - regionZ;
+            for (int cx = fromX; cx <= toX; cx++) {
+                int x = cx - regionX;
+                int count = 0;
+                for (int r = 0; r < rects; r++) {
+                    int x0 = x + shape.dx0[r];
+                    int x1 = x + shape.dx1[r] + 1;
+                    int z0 = (z + shape.dz0[r]) * stride;
+                    int z1 = (z + shape.dz1[r] + 1) * stride;
+                    count += sat[z1 + x1] - sat[z0 + x1] - sat[z1 + x0] + sat[z0 + x0];
+                }
+                best.offer(cx, cz, count);
+            }
+        }
+        scanned.addAndGet((long) (toX - fromX + 1) * (toZ - fromZ + 1));
+    }
+
+    // 有界的前 K 名；彼此距离小于 separation 的结果只保留数量更多的一个
+    private static final class TopK {
+        private final int capacity;
+        private final int separation;
+        private final int[] xs;
+        private final int[] zs;
+        private final int[] counts;
+        private int size;
+
+        TopK(int capacity, int separation) {
+            this.capacity = capacity;
+            this.separation = separation;
+            this.xs = new int[capacity];
+            this.zs = new int[capacity];
+            this.counts = new int[capacity];
+        }
+
+        void offer(int x, int z, int count) {
+            if (size == capacity && count <= counts[size - 1]) {
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                if (Math.abs(xs[i] - x) < separation && Math.abs(zs[i] - z) < separation) {
+                    if (counts[i] >= count) {
+                        return;
+                    }
+                    remove(i--);
+                }
+            }
+            if (size == capacity) {
+                size--;
+            }
+            // 按数量降序插入
+            int pos = size;
+            while (pos > 0 && counts[pos - 1] < count) {
+                xs[pos] = xs[pos - 1];
+                zs[pos] = zs[pos - 1];
+                counts[pos] = counts[pos - 1];
+                pos--;
+            }
+            xs[pos] = x;
+            zs[pos] = z;
+            counts[pos] = count;
+            size++;
+        }
+
+        private void remove(int index) {
+            System.arraycopy(xs, index + 1, xs, index, size - index - 1);
+            System.arraycopy(zs, index + 1, zs, index, size - index - 1);
+            System.arraycopy(counts, index + 1, counts, index, size - index - 1);
+            size--;
+        }
+
+        void mergeFrom(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.xs[i], other.zs[i], other.counts[i]);
+            }
+        }
+
+        List<Cluster> toList() {
+            List<Cluster> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(new Cluster(xs[i], zs[i], counts[i]));
+            }
+            return list;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.creatorcsie.slimemapping;
+
+import java.awt.Color;
+import java.nio.LongBuffer;
+
+// 挂机点覆盖热力图：把每个区块的中心当作挂机点，统计刷怪环（水平距离 24 到 128 格）内的史莱姆区块数并着色。
+// 按区块中心之间的距离判断区块是否在环内，环内共 188 个区块，平均约 18.8 个史莱姆区块。
+// 计算分两步：先对扩出环半径的区域按行求位图前缀和，再对每个区块把圆盘的 17 行区间和相加、减去中间的 3x3；
+// 只计算请求的格子，平移时只有新露出的边条需要计算。
+// 与 provider 的异步模式一致：环内瓦片还没算好的格子画成占位色，瓦片完成后由重绘补上
+public class SlimeCoverageMap implements CoordinateSystem.CoverageProvider {
+    static final int SPAWN_MIN_BLOCKS = 24;
+    static final int SPAWN_MAX_BLOCKS = 128;
+    // 环的外半径（区块）
+    static final int RADIUS = SPAWN_MAX_BLOCKS / 16;
+    // 第 dz + RADIUS 行上，外圆 / 内圆（不刷怪的范围）覆盖的 |dx| 上限；内圆不覆盖该行时为 -1
+    private static final int[] OUTER_HALF_WIDTH = new int[2 * RADIUS + 1];
+    private static final int[] INNER_HALF_WIDTH = new int[2 * RADIUS + 1];
+    static final int RING_CHUNKS;
+
+    static {
+        double outer = SPAWN_MAX_BLOCKS / 16.0;
+        double inner = SPAWN_MIN_BLOCKS / 16.0;
+        int ring = 0;
+        for (int dz = -RADIUS; dz <= RADIUS; dz++) {
+            OUTER_HALF_WIDTH[dz + RADIUS] = -1;
+            INNER_HALF_WIDTH[dz + RADIUS] = -1;
+            for (int dx = 0; dx <= RADIUS; dx++) {
+                int d2 = dx * dx + dz * dz;
+                if (d2 <= outer * outer) {
+                    OUTER_HALF_WIDTH[dz + RADIUS] = dx;
+                }
+                if (d2 < inner * inner) {
+                    INNER_HALF_WIDTH[dz + RADIUS] = dx;
+                }
+            }
+            ring += 2 * OUTER_HALF_WIDTH[dz + RADIUS] + 1;
+            if (INNER_HALF_WIDTH[dz + RADIUS] >= 0) {
+                ring -= 2 * INNER_HALF_WIDTH[dz + RADIUS] + 1;
+            }
+        }
+        RING_CHUNKS = ring;
+    }
+
+    // 配色：从浅灰（0）经蓝、绿（平均值）、黄到红（两倍平均值及以上）
+    private static final int FULL_COUNT = 40;
+    private static final int[] RAMP = coverageRamp();
+
+    private final ChunkTileCache tileCache;
+    private final SlimeChunkProvider chunkProvider;
+    // 行前缀和的工作区，只在事件分派线程中使用，跨帧复用
+    private int[] prefix = new int[0];
+    // 与 prefix 对应：行内位于未就绪瓦片中的区块数
+    private int[] missing = new int[0];
+    private boolean anyMissing;
+
+    public SlimeCoverageMap(ChunkTileCache tileCache, SlimeChunkProvider chunkProvider) {
+        this.tileCache = tileCache;
+        this.chunkProvider = chunkProvider;
+    }
+
+    private static int[] coverageRamp() {
+        Color[] stops = {
+            new Color(230, 230, 230, 120), new Color(60, 110, 230, 170), new Color(60, 190, 80, 190),
+            new Color(240, 210, 40, 210), new Color(220, 40, 30, 230)
+        };
+        int[] ramp = new int[FULL_COUNT + 1];
+        for (int count = 0; count <= FULL_COUNT; count++) {
+            double position = count * (stops.length - 1) / (double) FULL_COUNT;
+            int index = Math.min(stops.length - 2, (int) position);
+            double t = position - index;
+            Color a = stops[index];
+            Color b = stops[index + 1];
+            ramp[count] = (mix(a.getAlpha(), b.getAlpha(), t) << 24) | (mix(a.getRed(), b.getRed(), t) << 16)
+                | (mix(a.getGreen(), b.getGreen(), t) << 8) | mix(a.getBlue(), b.getBlue(), t);
+        }
+        return ramp;
+    }
+
+    private static int mix(int a, int b, double t) {
+        return (int) Math.round(a + (b - a) * t);
+    }
+
+    public static int colorOf(int count) {
+        return RAMP[Math.min(count, FULL_COUNT)];
+    }
+
+    @Override
+    public void fillChunkRaster(int minChunkX, int minChunkZ, int width, int height, int[] argb) {
+        fillCoverage(minChunkX, minChunkZ, width, height, argb, true);
+    }
+
+    // colors 为 true 时写入颜色，否则写入计数；环内有未就绪瓦片的格子写入占位色或 -1
+    void fillCoverage(int minChunkX, int minChunkZ, int width, int height, int[] out, boolean colors) {
+        long seed = chunkProvider.getSeed();
+        int rowWidth = width + 2 * RADIUS;
+        int rows = height + 2 * RADIUS;
+        int stride = rowWidth + 1;
+        if (prefix.length < stride * rows) {
+            prefix = new int[stride * rows];
+            missing = new int[stride * rows];
+        }
+        int pendingArgb = SlimeChunkMapping.PENDING_COLOR.getRGB();
+        anyMissing = false;
+        for (int row = 0; row < rows; row++) {
+            buildRowPrefix(seed, minChunkZ - RADIUS + row, minChunkX - RADIUS, rowWidth, row * stride);
+        }
+        for (int dz = 0; dz < height; dz++) {
+            for (int dx = 0; dx < width; dx++) {
+                // 该格子在前缀和中的列号为 dx + RADIUS，行号为 dz + RADIUS
+                if (anyMissing && ringMissing(dx, dz, stride)) {
+                    out[dz * width + dx] = colors ? pendingArgb : -1;
+                    continue;
+                }
+                int count = 0;
+                for (int k = 0; k <= 2 * RADIUS; k++) {
+                    int base = (dz + k) * stride + dx + RADIUS;
+                    int outer = OUTER_HALF_WIDTH[k];
+                    if (outer >= 0) {
+                        count += prefix[base + outer + 1] - prefix[base - outer];
+                    }
+                    int inner = INNER_HALF_WIDTH[k];
+                    if (inner >= 0) {
+                        count -= prefix[base + inner + 1] - prefix[base - inner];
+                    }
+                }
+                out[dz * width + dx] = colors ? colorOf(count) : count;
+            }
+        }
+    }
+
+    private boolean ringMissing(int dx, int dz, int stride) {
+        for (int k = 0; k <= 2 * RADIUS; k++) {
+            int base = (dz + k) * stride + dx + RADIUS;
+            int outer = OUTER_HALF_WIDTH[k];
+            if (outer >= 0 && missing[base + outer + 1] != missing[base - outer]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // prefix[offset + i] 为 chunkZ 行 [minChunkX, minChunkX + i) 中的史莱姆区块数；世界边界外按 0 计。
+    // 异步模式下不等待瓦片计算：未就绪的瓦片按 0 计，并计入 missing
+    private void buildRowPrefix(long seed, int chunkZ, int minChunkX, int width, int offset) {
+        final int MAX_CHUNK = SlimeChunkMapping.MAX_CHUNK;
+        final int TS = ChunkTileCache.TILE_SHIFT;
+        prefix[offset] = 0;
+        missing[offset] = 0;
+        boolean rowInside = chunkZ >= -MAX_CHUNK && chunkZ <= MAX_CHUNK;
+        boolean async = chunkProvider.isAsync();
+        int sum = 0;
+        int pending = 0;
+        int i = 0;
+        while (i < width) {
+            int chunkX = minChunkX + i;
+            int tileX = chunkX >> TS;
+            int end = Math.min(width, ((tileX + 1) << TS) - minChunkX);
+            LongBuffer tile = !rowInside ? null
+                : async ? tileCache.peekTile(seed, tileX, chunkZ >> TS) : tileCache.getTile(seed, tileX, chunkZ >> TS);
+            boolean ready = !rowInside || tile != null;
+            long word = tile == null ? 0 : tile.get(chunkZ & ChunkTileCache.TILE_MASK);
+            for (; i < end; i++) {
+                int x = minChunkX + i;
+                if (x >= -MAX_CHUNK && x <= MAX_CHUNK) {
+                    sum += (int) (word >>> (x & ChunkTileCache.TILE_MASK)) & 1;
+                    if (!ready) {
+                        pending++;
+                    }
+                }
+                prefix[offset + i + 1] = sum;
+                missing[offset + i + 1] = pending;
+            }
+        }
+        if (pending > 0) {
+            anyMissing = true;
+        }
+    }
+
+    // 环内瓦片未就绪时返回 -1
+    @Override
+    public int coverageAt(int chunkX, int chunkZ) {
+        int[] count = new int[1];
+        fillCoverage(chunkX, chunkZ, 1, 1, count, false);
+        return count[0];
+    }
+}
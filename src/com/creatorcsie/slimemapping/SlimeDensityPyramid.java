@@ -0,0 +1,305 @@
+package com.creatorcsie.slimemapping;
+
+import java.nio.LongBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// 史莱姆密度金字塔：第 level 层的一个格子统计 2^level x 2^level 个区块中的史莱姆区块数
+// 每层按 64x64 个格子分块缓存，按需在后台构建：四个下一层子块都已缓存时直接相加，否则从区块位图统计
+public class SlimeDensityPyramid {
+    // 某一块构建完成时回调（在工作线程中调用）
+    public interface BlockListener {
+        void blockReady(long seed, int level, int blockX, int blockZ);
+    }
+
+    public static final int MIN_LEVEL = 1;
+    // 第 6 层一个格子正好是一个 64x64 的瓦片，计数不超过 short 范围
+    public static final int MAX_LEVEL = 6;
+    public static final int BLOCK_SHIFT = 6;
+    public static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    private static final long BLOCK_BYTES = BLOCK_SIZE * BLOCK_SIZE * 2L + 16 + 40 + 48;
+
+    private final ChunkTileCache tileCache;
+    private final long maxBytes;
+    private final LinkedHashMap<BlockKey, short[]> blocks;
+    private final Map<BlockKey, ForkJoinTask<?>> pending = new HashMap<>();
+    // 各视图（以其 SlimeChunkProvider 为键）最近一次要求保留的后台任务范围
+    private final Map<Object, PendingRange> retained = new WeakHashMap<>();
+    private final ForkJoinPool pool;
+    private final List<BlockListener> listeners = new CopyOnWriteArrayList<>();
+    // 每次 invalidate 加一；块的键中不含游戏版本，构建开始时记下代数，完成时代数已变的结果直接丢弃。
+    // 切换版本时先切换瓦片缓存再调用 invalidate，之前开始的构建都会被丢弃
+    private long generation;
+    private long built;
+    private long merged;
+
+    // tileCache 中已有的区块位图会被直接复用，不会因构建金字塔而写入新瓦片
+    public SlimeDensityPyramid(ChunkTileCache tileCache, long maxBytes) {
+        this(tileCache, maxBytes, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    // parallelism 为后台构建的线程数
+    SlimeDensityPyramid(ChunkTileCache tileCache, long maxBytes, int parallelism) {
+        this.tileCache = tileCache;
+        this.maxBytes = Math.max(BLOCK_BYTES, maxBytes);
+        this.blocks = new LinkedHashMap<BlockKey, short[]>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BlockKey, short[]> eldest) {
+                return size() * BLOCK_BYTES > SlimeDensityPyramid.this.maxBytes;
+            }
+        };
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public void addBlockListener(BlockListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeBlockListener(BlockListener listener) {
+        listeners.remove(listener);
+    }
+
+    // 非阻塞读取：第 (cellZ - blockZ * 64) * 64 + (cellX - blockX * 64) 个元素为格子计数，未构建时提交后台任务并返回 null
+    public synchronized short[] peekBlock(long seed, int level, int blockX, int blockZ) {
+        BlockKey key = new BlockKey(seed, level, blockX, blockZ);
+        short[] counts = blocks.get(key);
+        if (counts == null && !pending.containsKey(key)) {
+            long taskGeneration = generation;
+            pending.put(key, pool.submit(() -> buildAsync(key, taskGeneration)));
+        }
+        return counts;
+    }
+
+    // 阻塞读取，供无界面调用方使用
+    public short[] getBlock(long seed, int level, int blockX, int blockZ) {
+        BlockKey key = new BlockKey(seed, level, blockX, blockZ);
+        long startGeneration;
+        synchronized (this) {
+            short[] counts = blocks.get(key);
+            if (counts != null) {
+                return counts;
+            }
+            startGeneration = generation;
+        }
+        short[] counts = build(key);
+        synchronized (this) {
+            // 构建期间切换了游戏版本时结果只返回给调用方，不进入缓存
+            if (generation == startGeneration) {
+                blocks.put(key, counts);
+            }
+        }
+        return counts;
+    }
+
+    private void buildAsync(BlockKey key, long taskGeneration) {
+        short[] counts = build(key);
+        synchronized (this) {
+            // 旧版本的结果：pending 中的同一键（如果有）属于新一代的任务，不能被它移除
+            if (taskGeneration != generation || pending.remove(key) == null) {
+                return;
+            }
+            blocks.put(key, counts);
+        }
+        for (BlockListener listener : listeners) {
+            listener.blockReady(key.seed, key.level, key.blockX, key.blockZ);
+        }
+    }
+
+    private short[] build(BlockKey key) {
+        RenderStats.ComputeEvent event = new RenderStats.ComputeEvent();
+        event.begin();
+        short[] counts = mergeChildren(key);
+        String kind = "density-merge";
+        if (counts == null) {
+            counts = countFromTiles(key);
+            kind = "density";
+            synchronized (this) {
+                built++;
+            }
+        }
+        if (event.shouldCommit()) {
+            event.kind = kind;
+            event.seed = key.seed;
+            event.level = key.level;
+            event.x = key.blockX;
+            event.z = key.blockZ;
+            event.chunks = (long) BLOCK_SIZE * BLOCK_SIZE << (key.level * 2);
+            event.commit();
+        }
+        return counts;
+    }
+
+    // 四个子块（level - 1）都在缓存中时，每个格子就是子块中 2x2 个格子之和
+    private short[] mergeChildren(BlockKey key) {
+        if (key.level <= MIN_LEVEL) {
+            return null;
+        }
+        short[][] children = new short[4][];
+        synchronized (this) {
+            for (int i = 0; i < 4; i++) {
+                children[i] = blocks.get(new BlockKey(key.seed, key.level - 1,
+                    key.blockX * 2 + (i & 1), key.blockZ * 2 + (i >> 1)));
+                if (children[i] == null) {
+                    return null;
+                }
+            }
+            merged++;
+        }
+        short[] counts = new short[BLOCK_SIZE * BLOCK_SIZE];
+        int half = BLOCK_SIZE / 2;
+        for (int i = 0; i < 4; i++) {
+            short[] child = children[i];
+            int baseX = (i & 1) * half;
+            int baseZ = (i >> 1) * half;
+            for (int cz = 0; cz < half; cz++) {
+                int src0 = cz * 2 * BLOCK_SIZE;
+                int src1 = src0 + BLOCK_SIZE;
+                int dst = (baseZ + cz) * BLOCK_SIZE + baseX;
+                for (int cx = 0; cx < half; cx++) {
+                    counts[dst + cx] = (short) (child[src0 + cx * 2] + child[src0 + cx * 2 + 1]
+                        + child[src1 + cx * 2] + child[src1 + cx * 2 + 1]);
+                }
+            }
+        }
+        return counts;
+    }
+
+    // 逐个瓦片统计：瓦片的每一行正好是一个 long，按格子宽度切段后数 1 的个数
+    private short[] countFromTiles(BlockKey key) {
+        int level = key.level;
+        int cellWidth = 1 << level;
+        int segments = Math.max(1, ChunkTileCache.TILE_SIZE >> level);
+        long segmentMask = cellWidth >= 64 ? -1L : (1L << cellWidth) - 1;
+        int tilesPerSide = 1 << level;
+        int firstTileX = key.blockX << level;
+        int firstTileZ = key.blockZ << level;
+        short[] counts = new short[BLOCK_SIZE * BLOCK_SIZE];
+        long[] scratch = new long[ChunkTileCache.TILE_WORDS];
+        for (int tz = 0; tz < tilesPerSide; tz++) {
+            for (int tx = 0; tx < tilesPerSide; tx++) {
+                LongBuffer tile = baseTile(key.seed, firstTileX + tx, firstTileZ + tz, scratch);
+                for (int lz = 0; lz < ChunkTileCache.TILE_SIZE; lz++) {
+                    long row = tile.get(lz);
+                    int cellZ = ((tz << ChunkTileCache.TILE_SHIFT) + lz) >> level;
+                    for (int s = 0; s < segments; s++) {
+                        int cellX = ((tx << ChunkTileCache.TILE_SHIFT) + s * cellWidth) >> level;
+                        counts[cellZ * BLOCK_SIZE + cellX] += Long.bitCount((row >>> (s * cellWidth)) & segmentMask);
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+
+    private LongBuffer baseTile(long seed, int tileX, int tileZ, long[] scratch) {
+        LongBuffer cached = tileCache == null ? null : tileCache.cachedTile(seed, tileX, tileZ);
+        if (cached != null) {
+            return cached;
+        }
+        SlimeChunkOracle.Edition edition = tileCache == null ? SlimeChunkOracle.Edition.JAVA : tileCache.getEdition();
+        edition.fillRect(seed, tileX << ChunkTileCache.TILE_SHIFT, tileZ << ChunkTileCache.TILE_SHIFT,
+            ChunkTileCache.TILE_SIZE, ChunkTileCache.TILE_SIZE, scratch);
+        return LongBuffer.wrap(scratch);
+    }
+
+    // 记录 owner（一个视图）需要的层级和块范围，空范围表示不再需要；
+    // 取消不在任何视图范围内的后台任务，多个视图互不取消对方的任务
+    public synchronized void retainPending(Object owner, long seed, int level, int minBlockX, int minBlockZ, int maxBlockX, int maxBlockZ) {
+        retained.put(owner, new PendingRange(seed, level, minBlockX, minBlockZ, maxBlockX, maxBlockZ));
+        Iterator<Map.Entry<BlockKey, ForkJoinTask<?>>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<BlockKey, ForkJoinTask<?>> entry = it.next();
+            if (!isRetained(entry.getKey())) {
+                entry.getValue().cancel(false);
+                it.remove();
+            }
+        }
+    }
+
+    private boolean isRetained(BlockKey key) {
+        for (PendingRange range : retained.values()) {
+            if (range.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized void invalidate() {
+        generation++;
+        blocks.clear();
+        for (ForkJoinTask<?> task : pending.values()) {
+            task.cancel(false);
+        }
+        pending.clear();
+    }
+
+    public synchronized String getStats() {
+        return String.format("密度金字塔: %d 块 (%d KB), 统计 %d, 合并 %d, 计算中 %d",
+            blocks.size(), blocks.size() * BLOCK_BYTES / 1024, built, merged, pending.size());
+    }
+
+    // 某个视图要求保留的种子、层级和块范围（含端点）
+    private static final class PendingRange {
+        final long seed;
+        final int level;
+        final int minBlockX;
+        final int minBlockZ;
+        final int maxBlockX;
+        final int maxBlockZ;
+
+        PendingRange(long seed, int level, int minBlockX, int minBlockZ, int maxBlockX, int maxBlockZ) {
+            this.seed = seed;
+            this.level = level;
+            this.minBlockX = minBlockX;
+            this.minBlockZ = minBlockZ;
+            this.maxBlockX = maxBlockX;
+            this.maxBlockZ = maxBlockZ;
+        }
+
+        boolean contains(BlockKey key) {
+            return key.seed == seed && key.level == level
+                && key.blockX >= minBlockX && key.blockX <= maxBlockX
+                && key.blockZ >= minBlockZ && key.blockZ <= maxBlockZ;
+        }
+    }
+
+    private static final class BlockKey {
+        final long seed;
+        final int level;
+        final int blockX;
+        final int blockZ;
+
+        BlockKey(long seed, int level, int blockX, int blockZ) {
+            this.seed = seed;
+            this.level = level;
+            this.blockX = blockX;
+            this.blockZ = blockZ;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof BlockKey)) {
+                return false;
+            }
+            BlockKey other = (BlockKey) o;
+            return seed == other.seed && level == other.level && blockX == other.blockX && blockZ == other.blockZ;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = Long.hashCode(seed);
+            h = h * 31 + level;
+            h = h * 31 + blockX;
+            return h * 31 + blockZ;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.creatorcsie.slimemapping;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// 单个种子的磁盘索引：以 (0, 0) 为中心的一片瓦片，按位存储并通过 MappedByteBuffer 零拷贝读取，首次请求时才计算
+public class SlimeIndexFile implements Closeable {
+    // 通过 -Dslime.index.dir=<目录> 启用，-Dslime.index.radius=<瓦片数> 配置范围
+    public static final String DIR_PROPERTY = "slime.index.dir";
+    public static final String RADIUS_PROPERTY = "slime.index.radius";
+    private static final int DEFAULT_RADIUS_TILES = 64;
+
+    // 文件头：魔数 "SLIX"、格式版本、种子、瓦片位移、半径（瓦片）
+    private static final int MAGIC = 0x534C4958;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+
+    private static final byte TILE_BUILT = 1;
+
+    private final long seed;
+    private final int radiusTiles;
+    private final int tilesPerSide;
+    private final FileChannel channel;
+    private final MappedByteBuffer map;
+    private final LongBuffer words;
+    private final long dataOffset;
+
+    private SlimeIndexFile(long seed, int radiusTiles, FileChannel channel) throws IOException {
+        this.seed = seed;
+        this.radiusTiles = radiusTiles;
+        this.tilesPerSide = radiusTiles * 2;
+        this.channel = channel;
+
+        long tileCount = (long) tilesPerSide * tilesPerSide;
+        // 每个瓦片一个字节的“已计算”标记，数据区按 8 字节对齐
+        this.dataOffset = (HEADER_BYTES + tileCount + 7) & ~7L;
+        long fileSize = dataOffset + tileCount * ChunkTileCache.TILE_WORDS * 8L;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("索引范围过大");
+        }
+
+        // 两个程序同时打开时，用整个文件锁保护文件头的初始化与校验
+        FileLock lock = channel.lock();
+        try {
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putInt(VERSION).putLong(seed)
+                    .putInt(ChunkTileCache.TILE_SHIFT).putInt(radiusTiles);
+                header.flip();
+                channel.write(header, 0);
+                channel.write(ByteBuffer.wrap(new byte[] {0}), fileSize - 1);
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                channel.read(header, 0);
+                header.flip();
+                if (header.remaining() < 24 || header.getInt() != MAGIC) {
+                    throw new IOException("不是史莱姆索引文件");
+                }
+                int version = header.getInt();
+                long fileSeed = header.getLong();
+                int tileShift = header.getInt();
+                int fileRadius = header.getInt();
+                if (version != VERSION || fileSeed != seed || tileShift != ChunkTileCache.TILE_SHIFT
+                        || fileRadius != radiusTiles || channel.size() != fileSize) {
+                    throw new IOException("索引文件版本或参数不匹配");
+                }
+            }
+        } finally {
+            lock.release();
+        }
+        this.map = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+        // 文件头为大端序，位图数据固定为小端序
+        this.words = map.slice((int) dataOffset, (int) (fileSize - dataOffset)).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+    }
+
+    public static SlimeIndexFile open(Path file, long seed, int radiusTiles) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new SlimeIndexFile(seed, radiusTiles, channel);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    // 根据系统属性打开当前种子的索引；未配置时返回 null
+    public static SlimeIndexFile openConfigured(long seed) throws IOException {
+        String dir = System.getProperty(DIR_PROPERTY);
+        if (dir == null || dir.isEmpty()) {
+            return null;
+        }
+        int radius = Integer.getInteger(RADIUS_PROPERTY, DEFAULT_RADIUS_TILES);
+        Path directory = Paths.get(dir);
+        Files.createDirectories(directory);
+        return open(directory.resolve(seed + ".slimeidx"), seed, radius);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean contains(int tileX, int tileZ) {
+        return tileX >= -radiusTiles && tileX < radiusTiles && tileZ >= -radiusTiles && tileZ < radiusTiles;
+    }
+
+    // 返回瓦片位图的只读视图（直接指向映射内存）；范围外返回 null
+    public LongBuffer tile(int tileX, int tileZ) throws IOException {
+        if (!contains(tileX, tileZ)) {
+            return null;
+        }
+        int index = (tileZ + radiusTiles) * tilesPerSide + (tileX + radiusTiles);
+        if (map.get(HEADER_BYTES + index) == TILE_BUILT) {
+            // 与 build 中的 releaseFence 配对：看到标记后再读数据，不会读到标记之前的旧数据
+            VarHandle.acquireFence();
+        } else {
+            build(tileX, tileZ, index);
+        }
+        return words.slice(index * ChunkTileCache.TILE_WORDS, ChunkTileCache.TILE_WORDS).asReadOnlyBuffer();
+    }
+
+    private synchronized void build(int tileX, int tileZ, int index) throws IOException {
+        long position = dataOffset + (long) index * ChunkTileCache.TILE_WORDS * 8L;
+        // 锁住该瓦片的数据区，另一个程序实例不会同时写同一个瓦片
+        FileLock lock = channel.lock(position, ChunkTileCache.TILE_WORDS * 8L, false);
+        try {
+            if (map.get(HEADER_BYTES + index) == TILE_BUILT) {
+                return;
+            }
+            long[] bits = ChunkTileCache.computeTile(SlimeChunkOracle.Edition.JAVA, seed, tileX, tileZ);
+            words.put(index * ChunkTileCache.TILE_WORDS, bits);
+            // 先写数据再置标记：标记是映射内存中的普通字节，用 release 屏障保证其他线程看到标记时数据已完整
+            VarHandle.releaseFence();
+            map.put(HEADER_BYTES + index, TILE_BUILT);
+        } finally {
+            lock.release();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        map.force();
+        channel.close();
+    }
+}
@@ -0,0 +1,256 @@
+package com.creatorcsie.slimemapping;
+
+import java.awt.Point;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// 矩形区域统计（史莱姆区块数、占比、区块列表），分两级前缀和：
+// 瓦片级：密度金字塔第 6 层的一个格子正好是一个瓦片，按 64x64 个瓦片一块建立二维前缀和，完全覆盖的瓦片 O(1) 求和；
+// 区块级：只有矩形边缘的部分瓦片需要读位图，瓦片的每一行是一个 long，按列掩码后数 1 的个数
+public class SlimeRegionStats {
+    // 一次统计的结果，区块范围已截到世界边界内（含端点）
+    public static final class Region {
+        public final int minChunkX;
+        public final int minChunkZ;
+        public final int maxChunkX;
+        public final int maxChunkZ;
+        public final long chunks;
+        public final long slimeChunks;
+        // 按行优先顺序列出的史莱姆区块，最多 maxListed 个
+        public final List<Point> slimeList;
+
+        Region(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ, long slimeChunks, List<Point> slimeList) {
+            this.minChunkX = minChunkX;
+            this.minChunkZ = minChunkZ;
+            this.maxChunkX = maxChunkX;
+            this.maxChunkZ = maxChunkZ;
+            this.chunks = maxChunkX < minChunkX || maxChunkZ < minChunkZ
+                ? 0 : (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+            this.slimeChunks = slimeChunks;
+            this.slimeList = slimeList;
+        }
+
+        public double getDensity() {
+            return chunks == 0 ? 0 : slimeChunks / (double) chunks;
+        }
+
+        // 列表没有包含全部史莱姆区块
+        public boolean isTruncated() {
+            return slimeList.size() < slimeChunks;
+        }
+    }
+
+    // 第 6 层的格子边长为 64 个区块，与瓦片一致
+    private static final int LEVEL = ChunkTileCache.TILE_SHIFT;
+    private static final int SHIFT = SlimeDensityPyramid.BLOCK_SHIFT;
+    private static final int SIZE = SlimeDensityPyramid.BLOCK_SIZE;
+    private static final int STRIDE = SIZE + 1;
+    private static final long TABLE_BYTES = STRIDE * STRIDE * 4L + 16 + 40 + 48;
+
+    private final ChunkTileCache tileCache;
+    private final SlimeDensityPyramid densityPyramid;
+    private final long maxBytes;
+    private final LinkedHashMap<TableKey, int[]> tables;
+    // invalidate 时加一；锁外构建的前缀和只有在期间没有切换版本时才放入缓存，
+    // 否则它可能读到的是旧版本的密度块
+    private long generation;
+
+    public SlimeRegionStats(ChunkTileCache tileCache, SlimeDensityPyramid densityPyramid, long maxBytes) {
+        this.tileCache = tileCache;
+        this.densityPyramid = densityPyramid;
+        this.maxBytes = Math.max(TABLE_BYTES, maxBytes);
+        this.tables = new LinkedHashMap<TableKey, int[]>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TableKey, int[]> eldest) {
+                return size() * TABLE_BYTES > SlimeRegionStats.this.maxBytes;
+            }
+        };
+    }
+
+    // 统计 [minChunkX, maxChunkX] x [minChunkZ, maxChunkZ]（含端点）；缺少的瓦片级前缀和先在 pool 中并行构建
+    public Region query(long seed, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ,
+            int maxListed, ForkJoinPool pool) {
+        final int MAX_CHUNK = SlimeChunkMapping.MAX_CHUNK;
+        // 两个角可按任意顺序给出
+        int fromX = Math.max(Math.min(minChunkX, maxChunkX), -MAX_CHUNK);
+        int toX = Math.min(Math.max(minChunkX, maxChunkX), MAX_CHUNK);
+        int fromZ = Math.max(Math.min(minChunkZ, maxChunkZ), -MAX_CHUNK);
+        int toZ = Math.min(Math.max(minChunkZ, maxChunkZ), MAX_CHUNK);
+        if (fromX > toX || fromZ > toZ) {
+            return new Region(fromX, fromZ, toX, toZ, 0, new ArrayList<>());
+        }
+        long count = count(seed, fromX, fromZ, toX, toZ, pool);
+        List<Point> list = list(seed, fromX, fromZ, toX, toZ, maxListed);
+        return new Region(fromX, fromZ, toX, toZ, count, list);
+    }
+
+    // 范围须已在世界边界内
+    long count(long seed, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ, ForkJoinPool pool) {
+        final int TS = ChunkTileCache.TILE_SHIFT;
+        // 完全在矩形内的瓦片范围
+        int fullTileX0 = -Math.floorDiv(-minChunkX, ChunkTileCache.TILE_SIZE);
+        int fullTileZ0 = -Math.floorDiv(-minChunkZ, ChunkTileCache.TILE_SIZE);
+        int fullTileX1 = ((maxChunkX + 1) >> TS) - 1;
+        int fullTileZ1 = ((maxChunkZ + 1) >> TS) - 1;
+        boolean inner = fullTileX0 <= fullTileX1 && fullTileZ0 <= fullTileZ1;
+
+        long total = 0;
+        if (inner) {
+            total += countTiles(seed, fullTileX0, fullTileZ0, fullTileX1, fullTileZ1, pool);
+        }
+        // 边缘的部分瓦片
+        for (int tileZ = minChunkZ >> TS; tileZ <= maxChunkZ >> TS; tileZ++) {
+            boolean innerRow = inner && tileZ >= fullTileZ0 && tileZ <= fullTileZ1;
+            for (int tileX = minChunkX >> TS; tileX <= maxChunkX >> TS; tileX++) {
+                if (innerRow && tileX == fullTileX0) {
+                    tileX = fullTileX1;
+                    continue;
+                }
+                total += countInTile(seed, tileX, tileZ, minChunkX, minChunkZ, maxChunkX, maxChunkZ);
+            }
+        }
+        return total;
+    }
+
+    private long countInTile(long seed, int tileX, int tileZ, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+        LongBuffer tile = tileCache.getTile(seed, tileX, tileZ);
+        int baseX = tileX << ChunkTileCache.TILE_SHIFT;
+        int baseZ = tileZ << ChunkTileCache.TILE_SHIFT;
+        int fromX = Math.max(minChunkX, baseX) - baseX;
+        int toX = Math.min(maxChunkX, baseX + ChunkTileCache.TILE_MASK) - baseX;
+        int fromZ = Math.max(minChunkZ, baseZ) - baseZ;
+        int toZ = Math.min(maxChunkZ, baseZ + ChunkTileCache.TILE_MASK) - baseZ;
+        long mask = (-1L >>> (63 - (toX - fromX))) << fromX;
+        long total = 0;
+        for (int lz = fromZ; lz <= toZ; lz++) {
+            total += Long.bitCount(tile.get(lz) & mask);
+        }
+        return total;
+    }
+
+    // 瓦片 [tileX0, tileX1] x [tileZ0, tileZ1] 中的史莱姆区块总数
+    private long countTiles(long seed, int tileX0, int tileZ0, int tileX1, int tileZ1, ForkJoinPool pool) {
+        buildMissing(seed, tileX0 >> SHIFT, tileZ0 >> SHIFT, tileX1 >> SHIFT, tileZ1 >> SHIFT, pool);
+        long total = 0;
+        for (int blockZ = tileZ0 >> SHIFT; blockZ <= tileZ1 >> SHIFT; blockZ++) {
+            for (int blockX = tileX0 >> SHIFT; blockX <= tileX1 >> SHIFT; blockX++) {
+                int[] table = table(seed, blockX, blockZ);
+                int x0 = Math.max(tileX0, blockX << SHIFT) - (blockX << SHIFT);
+                int x1 = Math.min(tileX1, (blockX << SHIFT) + SIZE - 1) - (blockX << SHIFT) + 1;
+                int z0 = Math.max(tileZ0, blockZ << SHIFT) - (blockZ << SHIFT);
+                int z1 = Math.min(tileZ1, (blockZ << SHIFT) + SIZE - 1) - (blockZ << SHIFT) + 1;
+                total += table[z1 * STRIDE + x1] - table[z0 * STRIDE + x1] - table[z1 * STRIDE + x0] + table[z0 * STRIDE + x0];
+            }
+        }
+        return total;
+    }
+
+    private void buildMissing(long seed, int blockX0, int blockZ0, int blockX1, int blockZ1, ForkJoinPool pool) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int blockZ = blockZ0; blockZ <= blockZ1; blockZ++) {
+            for (int blockX = blockX0; blockX <= blockX1; blockX++) {
+                TableKey key = new TableKey(seed, blockX, blockZ);
+                synchronized (this) {
+                    if (tables.containsKey(key)) {
+                        continue;
+                    }
+                }
+                tasks.add(pool.submit(() -> table(key.seed, key.blockX, key.blockZ)));
+            }
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    // 块内前缀和：table[(z + 1) * STRIDE + (x + 1)] 为块内瓦片 [0, x] x [0, z] 的史莱姆区块数
+    private int[] table(long seed, int blockX, int blockZ) {
+        TableKey key = new TableKey(seed, blockX, blockZ);
+        long startGeneration;
+        synchronized (this) {
+            int[] table = tables.get(key);
+            if (table != null) {
+                return table;
+            }
+            startGeneration = generation;
+        }
+        short[] counts = densityPyramid.getBlock(seed, LEVEL, blockX, blockZ);
+        int[] table = new int[STRIDE * STRIDE];
+        for (int z = 0; z < SIZE; z++) {
+            int rowSum = 0;
+            for (int x = 0; x < SIZE; x++) {
+                rowSum += counts[z * SIZE + x];
+                table[(z + 1) * STRIDE + x + 1] = table[z * STRIDE + x + 1] + rowSum;
+            }
+        }
+        synchronized (this) {
+            if (startGeneration == generation) {
+                tables.put(key, table);
+            }
+        }
+        return table;
+    }
+
+    // 按行优先顺序列出最多 maxListed 个史莱姆区块，找够即停止
+    private List<Point> list(long seed, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ, int maxListed) {
+        final int TS = ChunkTileCache.TILE_SHIFT;
+        List<Point> list = new ArrayList<>();
+        for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ && list.size() < maxListed; chunkZ++) {
+            for (int tileX = minChunkX >> TS; tileX <= maxChunkX >> TS && list.size() < maxListed; tileX++) {
+                int baseX = tileX << TS;
+                int fromX = Math.max(minChunkX, baseX) - baseX;
+                int toX = Math.min(maxChunkX, baseX + ChunkTileCache.TILE_MASK) - baseX;
+                long mask = (-1L >>> (63 - (toX - fromX))) << fromX;
+                long row = tileCache.getTile(seed, tileX, chunkZ >> TS).get(chunkZ & ChunkTileCache.TILE_MASK) & mask;
+                while (row != 0 && list.size() < maxListed) {
+                    list.add(new Point(baseX + Long.numberOfTrailingZeros(row), chunkZ));
+                    row &= row - 1;
+                }
+            }
+        }
+        return list;
+    }
+
+    // 游戏版本变化时调用（前缀和以种子为键）
+    public synchronized void invalidate() {
+        generation++;
+        tables.clear();
+    }
+
+    public synchronized String getStats() {
+        return String.format("区域统计: %d 块前缀和 (%d KB)", tables.size(), tables.size() * TABLE_BYTES / 1024);
+    }
+
+    private static final class TableKey {
+        final long seed;
+        final int blockX;
+        final int blockZ;
+
+        TableKey(long seed, int blockX, int blockZ) {
+            this.seed = seed;
+            this.blockX = blockX;
+            this.blockZ = blockZ;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof TableKey)) {
+                return false;
+            }
+            TableKey other = (TableKey) o;
+            return seed == other.seed && blockX == other.blockX && blockZ == other.blockZ;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = Long.hashCode(seed);
+            h = h * 31 + blockX;
+            return h * 31 + blockZ;
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package com.creatorcsie.slimemapping;
+
+import java.awt.Point;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+// 由已知的史莱姆区块和非史莱姆区块反推世界种子的低 48 位（判定只用到这 48 位）
+// 第一步：LCG 输出的第 17 位只取决于输入的低 18 位，史莱姆区块要求 nextInt(10) == 0，即该位为 0，
+//         因此每个已知史莱姆区块都能在 2^18 个低位取值中筛掉约一半
+// 第二步：对留下的每个低位取值并行枚举高 30 位，按筛选力从强到弱逐条检查，任一条不符即放弃
+// 注意：第一步忽略了 Random.nextInt 的拒绝采样（每个区块约 4e-9 的概率），第二步的检查是精确的
+public class SlimeSeedRecovery {
+    static final int LOW_BITS = 18;
+    static final int HIGH_BITS = 48 - LOW_BITS;
+    private static final long LOW_MASK = (1L << LOW_BITS) - 1;
+    // 每个工作单元枚举 2^UNIT_BITS 个高位取值
+    static final int UNIT_BITS = 22;
+    static final int UNITS_PER_LOW = 1 << (HIGH_BITS - UNIT_BITS);
+
+    // 找到候选种子时回调（在工作线程中调用，同一个值可能在续跑时再次报告）
+    public interface CandidateListener {
+        void candidateFound(long seed48);
+    }
+
+    private final List<Point> slimeChunks;
+    private final List<Point> normalChunks;
+    private final long[] slimeTerms;
+    private final long[] normalTerms;
+    // 升序排列
+    final int[] lowCandidates;
+
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final AtomicLong checked = new AtomicLong();
+    // 已完成的工作单元；nextUnit 之前的单元全部完成，作为检查点
+    private final BitSet doneUnits = new BitSet();
+    private long nextUnit;
+    private final TreeSet<Long> candidates = new TreeSet<>();
+
+    public SlimeSeedRecovery(List<Point> slimeChunks, List<Point> normalChunks) {
+        this.slimeChunks = new ArrayList<>(slimeChunks);
+        this.normalChunks = new ArrayList<>(normalChunks);
+        this.slimeTerms = terms(slimeChunks);
+        this.normalTerms = terms(normalChunks);
+        this.lowCandidates = filterLowBits(slimeTerms);
+    }
+
+    private static long[] terms(List<Point> chunks) {
+        long[] terms = new long[chunks.size()];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = SlimeChunkOracle.chunkTerm(chunks.get(i).x, chunks.get(i).y);
+        }
+        return terms;
+    }
+
+    // LCG 输出 (x * M + A) 的第 17 位，即 nextInt 所用 31 位数的奇偶
+    private static long parityBit(long lowSeed, long term) {
+        long x = ((lowSeed + term) ^ SlimeChunkOracle.MAGIC_SEED ^ SlimeChunkOracle.MULTIPLIER) & LOW_MASK;
+        return ((x * SlimeChunkOracle.MULTIPLIER + SlimeChunkOracle.ADDEND) >>> (LOW_BITS - 1)) & 1;
+    }
+
+    // 所有史莱姆区块的奇偶位都为 0 的低 18 位取值
+    private static int[] filterLowBits(long[] slimeTerms) {
+        int[] survivors = new int[1 << LOW_BITS];
+        int count = 0;
+        for (int low = 0; low < 1 << LOW_BITS; low++) {
+            boolean ok = true;
+            for (long term : slimeTerms) {
+                if (parityBit(low, term) != 0) {
+                    ok = false;
+                    break;
+                }
+            }
+            if (ok) {
+                survivors[count++] = low;
+            }
+        }
+        int[] result = new int[count];
+        System.arraycopy(survivors, 0, result, 0, count);
+        return result;
+    }
+
+    public int getLowCandidates() {
+        return lowCandidates.length;
+    }
+
+    public long getUnitCount() {
+        return (long) lowCandidates.length * UNITS_PER_LOW;
+    }
+
+    public long getTotalSeeds() {
+        return (long) lowCandidates.length << HIGH_BITS;
+    }
+
+    // 输入的指纹，检查点只能用于相同的输入
+    public String fingerprint() {
+        CRC32 crc = new CRC32();
+        StringBuilder sb = new StringBuilder();
+        for (Point p : slimeChunks) {
+            sb.append('+').append(p.x).append(',').append(p.y).append(';');
+        }
+        for (Point p : normalChunks) {
+            sb.append('-').append(p.x).append(',').append(p.y).append(';');
+        }
+        crc.update(sb.toString().getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    // 单个低位取值下各条件的检查顺序：史莱姆区块（通过率约 1/5）在前，
+    // 奇偶位为 0 的非史莱姆区块（约 4/5）在后；奇偶位为 1 的非史莱姆区块必然成立，直接省去
+    private long[][] orderedChecks(int low) {
+        List<Long> normal = new ArrayList<>();
+        for (long term : normalTerms) {
+            if (parityBit(low, term) == 0) {
+                normal.add(term);
+            }
+        }
+        long[] slime = new long[slimeTerms.length];
+        long[] notSlime = new long[normal.size()];
+        for (int i = 0; i < slime.length; i++) {
+            slime[i] = low + slimeTerms[i];
+        }
+        for (int i = 0; i < notSlime.length; i++) {
+            notSlime[i] = low + normal.get(i);
+        }
+        return new long[][] {slime, notSlime};
+    }
+
+    // 工作单元 unit 内的所有种子：低位为 lowCandidates[unit / UNITS_PER_LOW]，高位为该单元的一段
+    private void searchUnit(long unit, long[][] checks, CandidateListener listener) {
+        long[] slime = checks[0];
+        long[] notSlime = checks[1];
+        int low = lowCandidates[(int) (unit / UNITS_PER_LOW)];
+        long firstHigh = (unit % UNITS_PER_LOW) << UNIT_BITS;
+        long lastHigh = firstHigh + (1L << UNIT_BITS);
+        outer:
+        for (long high = firstHigh; high < lastHigh; high++) {
+            long base = high << LOW_BITS;
+            for (long term : slime) {
+                if (!SlimeChunkOracle.isSlimeHash(base + term)) {
+                    continue outer;
+                }
+            }
+            for (long term : notSlime) {
+                if (SlimeChunkOracle.isSlimeHash(base + term)) {
+                    continue outer;
+                }
+            }
+            long seed = base | low;
+            synchronized (this) {
+                candidates.add(seed);
+            }
+            listener.candidateFound(seed);
+        }
+    }
+
+    // 从 firstUnit 开始检查剩余的工作单元，阻塞到完成或被 stop()
+    public void search(long firstUnit, int threads, CandidateListener listener) throws InterruptedException {
+        search(firstUnit, getUnitCount(), threads, listener);
+    }
+
+    // 只检查 [firstUnit, endUnit) 中的工作单元
+    void search(long firstUnit, long endUnit, int threads, CandidateListener listener) throws InterruptedException {
+        long unitCount = Math.min(endUnit, getUnitCount());
+        synchronized (this) {
+            nextUnit = Math.max(nextUnit, firstUnit);
+        }
+        AtomicLong cursor = new AtomicLong(firstUnit);
+        Runnable worker = () -> {
+            long unit;
+            int checksLow = -1;
+            long[][] checks = null;
+            while (!stopped.get() && (unit = cursor.getAndIncrement()) < unitCount) {
+                int lowIndex = (int) (unit / UNITS_PER_LOW);
+                if (lowIndex != checksLow) {
+                    checks = orderedChecks(lowCandidates[lowIndex]);
+                    checksLow = lowIndex;
+                }
+                searchUnit(unit, checks, listener);
+                checked.addAndGet(1L << UNIT_BITS);
+                unitDone(unit);
+            }
+        };
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, threads); i++) {
+            Thread t = new Thread(worker, "slime-seed-recovery-" + i);
+            t.setDaemon(true);
+            workers.add(t);
+            t.start();
+        }
+        try {
+            for (Thread t : workers) {
+                t.join();
+            }
+        } catch (InterruptedException e) {
+            stop();
+            throw e;
+        }
+    }
+
+    synchronized void unitDone(long unit) {
+        // doneUnits 的第 0 位对应 nextUnit，前缀全部完成时整体左移
+        doneUnits.set((int) (unit - nextUnit));
+        int advance = doneUnits.nextClearBit(0);
+        if (advance > 0) {
+            nextUnit += advance;
+            BitSet rest = doneUnits.get(advance, Math.max(advance, doneUnits.length()));
+            doneUnits.clear();
+            doneUnits.or(rest);
+        }
+    }
+
+    // 检查点：此单元之前的工作全部完成
+    public synchronized long getNextUnit() {
+        return nextUnit;
+    }
+
+    public synchronized List<Long> getCandidates() {
+        return new ArrayList<>(candidates);
+    }
+
+    synchronized void addCandidates(List<Long> seeds) {
+        candidates.addAll(seeds);
+    }
+
+    public void stop() {
+        stopped.set(true);
+    }
+
+    public boolean isStopped() {
+        return stopped.get();
+    }
+
+    public long getCheckedSeeds() {
+        return checked.get();
+    }
+
+    // 检查点文件（Properties 格式），先写临时文件再替换，中途被杀也不会损坏
+    synchronized void saveCheckpoint(Path path) throws IOException {
+        Properties props = new Properties();
+        props.setProperty("inputs", fingerprint());
+        props.setProperty("nextUnit", Long.toString(nextUnit));
+        props.setProperty("unitCount", Long.toString(getUnitCount()));
+        StringBuilder sb = new StringBuilder();
+        for (long seed : candidates) {
+            sb.append(sb.length() == 0 ? "" : ",").append(seed);
+        }
+        props.setProperty("candidates", sb.toString());
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            props.store(out, "slime seed recovery checkpoint");
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 读取检查点，返回续跑的起始单元；输入不同时抛出 IOException
+    long loadCheckpoint(Path path) throws IOException {
+        Properties props = new Properties();
+        try (Reader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            props.load(in);
+        }
+        if (!fingerprint().equals(props.getProperty("inputs"))) {
+            throw new IOException("检查点与当前输入的区块列表不一致: " + path);
+        }
+        List<Long> seeds = new ArrayList<>();
+        String list = props.getProperty("candidates", "");
+        for (String part : list.split(",")) {
+            if (!part.isEmpty()) {
+                seeds.add(Long.parseLong(part.trim()));
+            }
+        }
+        addCandidates(seeds);
+        long unit = Long.parseLong(props.getProperty("nextUnit", "0"));
+        synchronized (this) {
+            nextUnit = unit;
+        }
+        return unit;
+    }
+
+    // 区块列表文件：每行 "+x,z"（史莱姆区块）或 "-x,z"（非史莱姆区块），区块坐标，# 开头为注释
+    static void readChunkList(Path path, List<Point> slime, List<Point> normal) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                char sign = line.charAt(0);
+                if (sign != '+' && sign != '-') {
+                    throw new IOException("无法识别的行（应以 + 或 - 开头）: " + line);
+                }
+                (sign == '+' ? slime : normal).add(parseChunk(line.substring(1)));
+            }
+        }
+    }
+
+    private static Point parseChunk(String text) {
+        String[] parts = text.split(",");
+        return new Point(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+    }
+
+    private static void printUsage() {
+        System.err.println("用法: java -jar SlimeMapping.jar recover [--slime <区块x>,<区块z>]... [--normal <区块x>,<区块z>]..."
+            + " [--input <文件>] [--threads <线程数>] [--checkpoint <文件>] [--out <文件>]");
+        System.err.println("--input 文件每行为 +x,z（史莱姆区块）或 -x,z（非史莱姆区块）；指定 --checkpoint 时定期保存进度，重新运行同一命令即可续跑");
+        System.err.println("结果每行输出一个种子的低 48 位，实际世界种子为该值加上 2^48 的任意整数倍");
+    }
+
+    public static void main(String[] args) {
+        List<Point> slime = new ArrayList<>();
+        List<Point> normal = new ArrayList<>();
+        int threads = Runtime.getRuntime().availableProcessors();
+        String checkpointPath = null;
+        String outPath = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--slime": slime.add(parseChunk(value)); i++; break;
+                    case "--normal": normal.add(parseChunk(value)); i++; break;
+                    case "--input": readChunkList(Paths.get(value), slime, normal); i++; break;
+                    case "--threads": threads = Integer.parseInt(value); i++; break;
+                    case "--checkpoint": checkpointPath = value; i++; break;
+                    case "--out": outPath = value; i++; break;
+                    default:
+                        System.err.println("未知参数: " + args[i]);
+                        printUsage();
+                        System.exit(2);
+                        return;
+                }
+            }
+        } catch (NumberFormatException | NullPointerException | ArrayIndexOutOfBoundsException ex) {
+            System.err.println("参数格式错误");
+            printUsage();
+            System.exit(2);
+            return;
+        } catch (IOException ex) {
+            System.err.println("读取区块列表失败: " + ex.getMessage());
+            System.exit(2);
+            return;
+        }
+        if (slime.isEmpty()) {
+            System.err.println("至少需要一个已知的史莱姆区块");
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        SlimeSeedRecovery recovery = new SlimeSeedRecovery(slime, normal);
+        Path checkpoint = checkpointPath == null ? null : Paths.get(checkpointPath);
+        long firstUnit = 0;
+        if (checkpoint != null && Files.exists(checkpoint)) {
+            try {
+                firstUnit = recovery.loadCheckpoint(checkpoint);
+            } catch (IOException | RuntimeException ex) {
+                System.err.println("读取检查点失败: " + ex.getMessage());
+                System.exit(2);
+                return;
+            }
+        }
+        System.err.printf("%d 个史莱姆区块、%d 个非史莱姆区块；低 %d 位筛选后剩 %d 个取值，需检查 %d 个种子（2^%.1f）%n",
+            slime.size(), normal.size(), LOW_BITS, recovery.getLowCandidates(), recovery.getTotalSeeds(),
+            Math.log(Math.max(1, recovery.getTotalSeeds())) / Math.log(2));
+        if (firstUnit > 0) {
+            System.err.printf("从检查点续跑：已完成 %.2f%%，已有候选 %d 个%n",
+                firstUnit * 100.0 / Math.max(1, recovery.getUnitCount()), recovery.getCandidates().size());
+        }
+
+        long begin = System.nanoTime();
+        long startUnit = firstUnit;
+        try (PrintWriter out = new PrintWriter(outPath == null
+                ? new BufferedWriter(new OutputStreamWriter(System.out))
+                : new BufferedWriter(new FileWriter(outPath, startUnit > 0)))) {
+            TreeSet<Long> printed = new TreeSet<>(recovery.getCandidates());
+            if (outPath == null) {
+                printed.forEach(out::println);
+                out.flush();
+            }
+            // 被中断（Ctrl+C）时保存检查点
+            Thread saveOnExit = new Thread(() -> {
+                recovery.stop();
+                saveQuietly(recovery, checkpoint);
+            });
+            Runtime.getRuntime().addShutdownHook(saveOnExit);
+            Thread progress = new Thread(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    try {
+                        Thread.sleep(5000);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    long done = recovery.getCheckedSeeds();
+                    double seconds = (System.nanoTime() - begin) / 1e9;
+                    double rate = done / seconds;
+                    long remaining = recovery.getTotalSeeds() - (startUnit << UNIT_BITS) - done;
+                    System.err.printf("已检查 %.2f%%，候选 %d 个，%.0f 种子/秒，预计剩余 %.0f 秒%n",
+                        ((startUnit << UNIT_BITS) + done) * 100.0 / Math.max(1, recovery.getTotalSeeds()),
+                        recovery.getCandidates().size(), rate, remaining / Math.max(1, rate));
+                    saveQuietly(recovery, checkpoint);
+                }
+            });
+            progress.setDaemon(true);
+            progress.start();
+            recovery.search(startUnit, threads, seed -> {
+                synchronized (out) {
+                    if (printed.add(seed)) {
+                        out.println(seed);
+                        out.flush();
+                    }
+                }
+            });
+            progress.interrupt();
+            saveQuietly(recovery, checkpoint);
+            try {
+                Runtime.getRuntime().removeShutdownHook(saveOnExit);
+            } catch (IllegalStateException ex) {
+                // 已在退出过程中，检查点由钩子保存
+            }
+        } catch (IOException ex) {
+            System.err.println("写入结果失败: " + ex.getMessage());
+            System.exit(1);
+            return;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        System.err.printf("%s检查 %d 个种子，候选 %d 个，用时 %.2f 秒，%.0f 种子/秒%n",
+            recovery.isStopped() ? "已停止，" : "完成：", recovery.getCheckedSeeds(), recovery.getCandidates().size(), seconds, recovery.getCheckedSeeds() / seconds);
+        if (recovery.getCandidates().size() > 1) {
+            // 加上 2^32 的某些倍数后，LCG 输出的高 31 位只变化 10 的倍数，这些种子的史莱姆区块几乎完全相同
+            System.err.println("有多个候选：它们在给出的所有区块上结果都相同，补充更多已知区块可进一步排除");
+        }
+    }
+
+    private static void saveQuietly(SlimeSeedRecovery recovery, Path checkpoint) {
+        if (checkpoint == null) {
+            return;
+        }
+        try {
+            recovery.saveCheckpoint(checkpoint);
+        } catch (IOException ex) {
+            System.err.println("保存检查点失败: " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.creatorcsie.slimemapping;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 批量种子搜索：区域内的坐标项与种子无关，预先算好后每个种子只需做加法、扰动和一步 LCG
+// 注意：判定只用到 (种子 + 坐标项) 的低 48 位，高 16 位不同的种子布局完全相同
+public class SlimeSeedScanner {
+    // 每个线程一次领取的种子数
+    private static final int BATCH = 4096;
+    // 区域边长上限：坐标项数组为 边长² 个 long（1024 时 8 MB），更大的区域每个种子都太慢
+    public static final int MAX_SIZE = 1024;
+
+    // 找到符合条件的种子时回调（在工作线程中调用）
+    public interface MatchListener {
+        void seedFound(long seed, int slimeCount);
+    }
+
+    private final long[] terms;
+    private final int minCount;
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final AtomicLong checked = new AtomicLong();
+    private final AtomicLong matches = new AtomicLong();
+
+    // 条件：以 (minChunkX, minChunkZ) 为左上角的 width x height 区块内至少有 minCount 个史莱姆区块
+    public SlimeSeedScanner(int minChunkX, int minChunkZ, int width, int height, int minCount) {
+        if (width < 1 || height < 1 || width > MAX_SIZE || height > MAX_SIZE) {
+            throw new IllegalArgumentException("区域边长须在 1 到 " + MAX_SIZE + " 之间: " + width + "x" + height);
+        }
+        this.terms = new long[width * height];
+        for (int dz = 0; dz < height; dz++) {
+            for (int dx = 0; dx < width; dx++) {
+                terms[dz * width + dx] = SlimeChunkOracle.chunkTerm(minChunkX + dx, minChunkZ + dz);
+            }
+        }
+        this.minCount = minCount;
+    }
+
+    public int getRegionSize() {
+        return terms.length;
+    }
+
+    // 区域内史莱姆区块总数，与逐个调用 SlimeChunkOracle.isSlimeChunk 的结果一致
+    public int count(long seed) {
+        int count = 0;
+        for (long term : terms) {
+            if (SlimeChunkOracle.isSlimeHash(seed + term)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // 达到 minCount 或已不可能达到时立即返回
+    boolean matches(long seed) {
+        int count = 0;
+        int remaining = terms.length;
+        for (long term : terms) {
+            remaining--;
+            if (SlimeChunkOracle.isSlimeHash(seed + term)) {
+                if (++count >= minCount) {
+                    return true;
+                }
+            } else if (count + remaining < minCount) {
+                return false;
+            }
+        }
+        return count >= minCount;
+    }
+
+    // 检查 [firstSeed, firstSeed + seedCount) 内的种子，阻塞到完成或被 stop()
+    public void scan(long firstSeed, long seedCount, int threads, MatchListener listener) throws InterruptedException {
+        AtomicLong cursor = new AtomicLong();
+        Runnable worker = () -> {
+            long offset;
+            while (!stopped.get() && (offset = cursor.getAndAdd(BATCH)) < seedCount) {
+                long end = Math.min(seedCount, offset + BATCH);
+                for (long i = offset; i < end; i++) {
+                    long seed = firstSeed + i;
+                    if (matches(seed)) {
+                        matches.incrementAndGet();
+                        listener.seedFound(seed, count(seed));
+                    }
+                }
+                checked.addAndGet(end - offset);
+            }
+        };
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, threads); i++) {
+            Thread t = new Thread(worker, "slime-seed-scan-" + i);
+            t.setDaemon(true);
+            workers.add(t);
+            t.start();
+        }
+        try {
+            for (Thread t : workers) {
+                t.join();
+            }
+        } catch (InterruptedException e) {
+            stop();
+            throw e;
+        }
+    }
+
+    public void stop() {
+        stopped.set(true);
+    }
+
+    public boolean isStopped() {
+        return stopped.get();
+    }
+
+    public long getCheckedSeeds() {
+        return checked.get();
+    }
+
+    public long getMatches() {
+        return matches.get();
+    }
+
+    private static void printUsage() {
+        System.err.println("用法: java -jar SlimeMapping.jar seeds --min <史莱姆区块数> [--center <区块x>,<区块z>] [--size <区块边长>]"
+            + " [--start <起始种子>] [--count <种子数>] [--threads <线程数>] [--out <文件>]");
+        System.err.println("默认检查以 (0, 0) 为中心的 16x16 区块，区域边长不超过 " + MAX_SIZE + "，结果每行输出“种子 史莱姆区块数”");
+    }
+
+    public static void main(String[] args) {
+        int centerX = 0;
+        int centerZ = 0;
+        int size = 16;
+        Integer minCount = null;
+        long start = 0;
+        long count = 10_000_000L;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String outPath = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--center": {
+                        String[] parts = value.split(",");
+                        centerX = Integer.parseInt(parts[0].trim());
+                        centerZ = Integer.parseInt(parts[1].trim());
+                        i++;
+                        break;
+                    }
+                    case "--size": size = Integer.parseInt(value); i++; break;
+                    case "--min": minCount = Integer.parseInt(value); i++; break;
+                    case "--start": start = Long.parseLong(value); i++; break;
+                    case "--count": count = Long.parseLong(value); i++; break;
+                    case "--threads": threads = Integer.parseInt(value); i++; break;
+                    case "--out": outPath = value; i++; break;
+                    default:
+                        System.err.println("未知参数: " + args[i]);
+                        printUsage();
+                        System.exit(2);
+                        return;
+                }
+            }
+        } catch (NumberFormatException | NullPointerException | ArrayIndexOutOfBoundsException ex) {
+            System.err.println("参数格式错误");
+            printUsage();
+            System.exit(2);
+            return;
+        }
+        if (minCount == null || size < 1 || count < 1) {
+            printUsage();
+            System.exit(2);
+            return;
+        }
+        if (size > MAX_SIZE) {
+            System.err.println("区域边长不能超过 " + MAX_SIZE);
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        SlimeSeedScanner scanner = new SlimeSeedScanner(centerX - size / 2, centerZ - size / 2, size, size, minCount);
+        long begin = System.nanoTime();
+        try (PrintWriter out = new PrintWriter(outPath == null
+                ? new BufferedWriter(new OutputStreamWriter(System.out))
+                : new BufferedWriter(new FileWriter(outPath)))) {
+            Thread progress = new Thread(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    try {
+                        Thread.sleep(5000);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    double seconds = (System.nanoTime() - begin) / 1e9;
+                    System.err.printf("已检查 %d 个种子，匹配 %d 个，%.0f 种子/秒%n",
+                        scanner.getCheckedSeeds(), scanner.getMatches(), scanner.getCheckedSeeds() / seconds);
+                }
+            });
+            progress.setDaemon(true);
+            progress.start();
+            scanner.scan(start, count, threads, (seed, slimeCount) -> {
+                synchronized (out) {
+                    out.println(seed + " " + slimeCount);
+                    out.flush();
+                }
+            });
+            progress.interrupt();
+        } catch (IOException ex) {
+            System.err.println("写入结果失败: " + ex.getMessage());
+            System.exit(1);
+            return;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        System.err.printf("共检查 %d 个种子，匹配 %d 个，用时 %.2f 秒，%.0f 种子/秒%n",
+            scanner.getCheckedSeeds(), scanner.getMatches(), seconds, scanner.getCheckedSeeds() / seconds);
+    }
+}
@@ -0,0 +1,373 @@
+package com.creatorcsie.slimemapping;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.imageio.ImageIO;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// 内嵌 HTTP 瓦片服务：GET /{种子}/{z}/{x}/{y}.png 返回 256x256 的透明 PNG，可直接叠加到网页地图上
+// 投影：z = 0 时一张瓦片覆盖以 (0, 0) 为中心、边长 2^21 区块的正方形（包含整个世界），
+// z = CHUNK_ZOOM 时一个像素对应一个区块，再往上每级放大一倍；比 CHUNK_ZOOM 小时每个像素取一个区块采样
+public class SlimeTileServer {
+    static final int TILE_PIXELS = 256;
+    static final int WORLD_SHIFT = 21;
+    static final int CHUNK_ZOOM = WORLD_SHIFT - 8;
+    static final int MAX_ZOOM = CHUNK_ZOOM + 4;
+
+    // 改变配色或投影时递增，旧的 ETag 随之失效
+    private static final int RENDER_VERSION = 1;
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private static final Pattern TILE_PATH = Pattern.compile("/(-?\\d+)/(\\d+)/(\\d+)/(\\d+)\\.png");
+
+    // 调色板：0 世界边界外（透明），1 史莱姆区块，2 普通区块，与界面使用的颜色一致
+    private static final IndexColorModel PALETTE = palette(
+        new Color(0, 0, 0, 0), SlimeChunkMapping.SLIME_COLOR, SlimeChunkMapping.NORMAL_COLOR);
+
+    private final SlimeChunkProvider chunkProvider;
+    private final long maxCacheBytes;
+    // 已编码的 PNG，按字节数做 LRU 淘汰
+    private final LinkedHashMap<TileRequest, byte[]> pngCache = new LinkedHashMap<>(256, 0.75f, true);
+    private long cachedBytes;
+    // 正在渲染的瓦片，同一瓦片的并发请求共用一次渲染
+    private final ConcurrentHashMap<TileRequest, CompletableFuture<byte[]>> rendering = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong renders = new AtomicLong();
+    private final AtomicLong joined = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public SlimeTileServer(long chunkCacheBytes, long pngCacheBytes) {
+        this.chunkProvider = new SlimeChunkProvider(new ChunkTileCache(chunkCacheBytes), false);
+        this.maxCacheBytes = pngCacheBytes;
+    }
+
+    private static IndexColorModel palette(Color... colors) {
+        byte[] r = new byte[colors.length];
+        byte[] g = new byte[colors.length];
+        byte[] b = new byte[colors.length];
+        byte[] a = new byte[colors.length];
+        for (int i = 0; i < colors.length; i++) {
+            r[i] = (byte) colors[i].getRed();
+            g[i] = (byte) colors[i].getGreen();
+            b[i] = (byte) colors[i].getBlue();
+            a[i] = (byte) colors[i].getAlpha();
+        }
+        return new IndexColorModel(8, colors.length, r, g, b, a);
+    }
+
+    public void start(InetSocketAddress address, int threads) throws IOException {
+        server = HttpServer.create(address, 0);
+        server.createContext("/", this::handle);
+        executor = newExecutor(threads);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    // JDK 21 及以上每个请求一个虚拟线程；编译目标为 17，只能反射调用，取不到时退回固定线程池
+    private static ExecutorService newExecutor(int threads) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+                Thread t = new Thread(r, "slime-tile-http");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    public String getStats() {
+        synchronized (pngCache) {
+            return String.format("请求 %d，PNG 缓存命中 %d，渲染 %d，合并 %d，304 %d，缓存 %d 张 / %d KB",
+                requests.get(), cacheHits.get(), renders.get(), joined.get(), notModified.get(),
+                pngCache.size(), cachedBytes / 1024);
+        }
+    }
+
+    // 实际渲染的次数（不含缓存命中与合并的请求）
+    long getRenders() {
+        return renders.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            Matcher m = TILE_PATH.matcher(exchange.getRequestURI().getPath());
+            TileRequest tile;
+            try {
+                tile = m.matches() ? new TileRequest(Long.parseLong(m.group(1)),
+                    Integer.parseInt(m.group(2)), Integer.parseInt(m.group(3)), Integer.parseInt(m.group(4))) : null;
+            } catch (NumberFormatException ex) {
+                tile = null;
+            }
+            if (tile == null || !tile.isValid()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            // 瓦片内容只由种子和坐标决定，ETag 不需要先渲染
+            String etag = tile.etag();
+            exchange.getResponseHeaders().set("ETag", etag);
+            exchange.getResponseHeaders().set("Cache-Control", CACHE_CONTROL);
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || "*".equals(ifNoneMatch.trim()))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+
+            byte[] png = getPng(tile);
+            exchange.getResponseHeaders().set("Content-Type", "image/png");
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, png.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(png);
+            }
+        } catch (IOException ex) {
+            // 客户端提前断开连接等情况，不影响其他请求
+            System.err.println("瓦片请求失败: " + ex.getMessage());
+        }
+    }
+
+    // 先查 PNG 缓存，再看是否已有相同瓦片在渲染，都没有时由当前线程渲染
+    byte[] getPng(TileRequest tile) throws IOException {
+        synchronized (pngCache) {
+            byte[] png = pngCache.get(tile);
+            if (png != null) {
+                cacheHits.incrementAndGet();
+                return png;
+            }
+        }
+        CompletableFuture<byte[]> created = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = rendering.putIfAbsent(tile, created);
+        if (existing != null) {
+            joined.incrementAndGet();
+            try {
+                return existing.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("等待瓦片渲染时被中断", e);
+            } catch (ExecutionException e) {
+                throw new IOException("瓦片渲染失败", e.getCause());
+            }
+        }
+        try {
+            // 查缓存和登记之间可能恰好有别的线程渲染完成
+            byte[] png;
+            synchronized (pngCache) {
+                png = pngCache.get(tile);
+            }
+            if (png == null) {
+                png = render(tile);
+                renders.incrementAndGet();
+                cache(tile, png);
+            }
+            created.complete(png);
+            return png;
+        } catch (IOException | RuntimeException ex) {
+            created.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            rendering.remove(tile, created);
+        }
+    }
+
+    private void cache(TileRequest tile, byte[] png) {
+        synchronized (pngCache) {
+            byte[] old = pngCache.put(tile, png);
+            cachedBytes += png.length - (old == null ? 0 : old.length);
+            Iterator<byte[]> it = pngCache.values().iterator();
+            while (cachedBytes > maxCacheBytes && it.hasNext()) {
+                cachedBytes -= it.next().length;
+                it.remove();
+            }
+        }
+    }
+
+    private byte[] render(TileRequest tile) throws IOException {
+        BufferedImage image = new BufferedImage(TILE_PIXELS, TILE_PIXELS, BufferedImage.TYPE_BYTE_INDEXED, PALETTE);
+        byte[] pixels = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        int tileShift = WORLD_SHIFT - tile.z;
+        int minChunkX = (tile.x << tileShift) - (1 << (WORLD_SHIFT - 1));
+        int minChunkZ = (tile.y << tileShift) - (1 << (WORLD_SHIFT - 1));
+        if (tile.z >= CHUNK_ZOOM) {
+            renderChunks(tile.seed, minChunkX, minChunkZ, tile.z - CHUNK_ZOOM, pixels);
+        } else {
+            renderSampled(tile.seed, minChunkX, minChunkZ, CHUNK_ZOOM - tile.z, pixels);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    // 每个区块占 2^pixelShift 个像素：经由瓦片缓存取整块栅格，再放大
+    private void renderChunks(long seed, int minChunkX, int minChunkZ, int pixelShift, byte[] pixels) {
+        int chunks = TILE_PIXELS >> pixelShift;
+        int[] argb = new int[chunks * chunks];
+        chunkProvider.fillChunkRaster(seed, minChunkX, minChunkZ, chunks, chunks, argb);
+        int slimeArgb = SlimeChunkMapping.SLIME_COLOR.getRGB();
+        int normalArgb = SlimeChunkMapping.NORMAL_COLOR.getRGB();
+        for (int py = 0; py < TILE_PIXELS; py++) {
+            int row = (py >> pixelShift) * chunks;
+            for (int px = 0; px < TILE_PIXELS; px++) {
+                int c = argb[row + (px >> pixelShift)];
+                pixels[py * TILE_PIXELS + px] = (byte) (c == slimeArgb ? 1 : c == normalArgb ? 2 : 0);
+            }
+        }
+    }
+
+    // 每个像素覆盖 2^chunkShift 个区块见方，取其中心区块判定
+    private static void renderSampled(long seed, int minChunkX, int minChunkZ, int chunkShift, byte[] pixels) {
+        final int MAX_CHUNK = SlimeChunkMapping.MAX_CHUNK;
+        int half = 1 << (chunkShift - 1);
+        for (int py = 0; py < TILE_PIXELS; py++) {
+            int chunkZ = minChunkZ + (py << chunkShift) + half;
+            for (int px = 0; px < TILE_PIXELS; px++) {
+                int chunkX = minChunkX + (px << chunkShift) + half;
+                byte index = 0;
+                if (Math.abs(chunkX) <= MAX_CHUNK && Math.abs(chunkZ) <= MAX_CHUNK) {
+                    index = (byte) (SlimeChunkOracle.isSlimeChunk(seed, chunkX, chunkZ) ? 1 : 2);
+                }
+                pixels[py * TILE_PIXELS + px] = index;
+            }
+        }
+    }
+
+    static final class TileRequest {
+        final long seed;
+        final int z;
+        final int x;
+        final int y;
+
+        TileRequest(long seed, int z, int x, int y) {
+            this.seed = seed;
+            this.z = z;
+            this.x = x;
+            this.y = y;
+        }
+
+        boolean isValid() {
+            return z >= 0 && z <= MAX_ZOOM && x >= 0 && y >= 0 && x < (1 << z) && y < (1 << z);
+        }
+
+        String etag() {
+            return "\"" + seed + "-" + z + "-" + x + "-" + y + "-v" + RENDER_VERSION + "\"";
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof TileRequest)) {
+                return false;
+            }
+            TileRequest other = (TileRequest) o;
+            return seed == other.seed && z == other.z && x == other.x && y == other.y;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = Long.hashCode(seed);
+            h = h * 31 + z;
+            h = h * 31 + x;
+            return h * 31 + y;
+        }
+    }
+
+    private static void printUsage() {
+        System.err.println("用法: java -jar SlimeMapping.jar serve [--port <端口>] [--bind <地址>] [--threads <线程数>] [--cache-mb <PNG 缓存 MB>]");
+        System.err.println("瓦片地址: http://<地址>:<端口>/<种子>/<z>/<x>/<y>.png，z 取 0 到 " + MAX_ZOOM
+            + "，z = " + CHUNK_ZOOM + " 时一个像素对应一个区块");
+    }
+
+    public static void main(String[] args) {
+        int port = 8080;
+        String bind = "127.0.0.1";
+        int threads = Runtime.getRuntime().availableProcessors() * 4;
+        long cacheMb = 64;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--port": port = Integer.parseInt(value); i++; break;
+                    case "--bind": bind = value; i++; break;
+                    case "--threads": threads = Integer.parseInt(value); i++; break;
+                    case "--cache-mb": cacheMb = Long.parseLong(value); i++; break;
+                    default:
+                        System.err.println("未知参数: " + args[i]);
+                        printUsage();
+                        System.exit(2);
+                        return;
+                }
+            }
+        } catch (NumberFormatException | NullPointerException ex) {
+            System.err.println("参数格式错误");
+            printUsage();
+            System.exit(2);
+            return;
+        }
+        if (bind == null || port < 0 || port > 65535 || cacheMb < 0) {
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        SlimeTileServer tileServer = new SlimeTileServer(64L * 1024 * 1024, cacheMb * 1024 * 1024);
+        try {
+            tileServer.start(new InetSocketAddress(bind, port), threads);
+        } catch (IOException ex) {
+            System.err.println("无法启动瓦片服务: " + ex.getMessage());
+            System.exit(1);
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.err.println(tileServer.getStats());
+            tileServer.stop();
+        }));
+        InetSocketAddress address = tileServer.getAddress();
+        System.err.println("瓦片服务已启动: http://" + address.getHostString() + ":" + address.getPort()
+            + "/<种子>/<z>/<x>/<y>.png");
+    }
+}
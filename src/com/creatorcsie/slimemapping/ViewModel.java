@@ -0,0 +1,157 @@
+package com.creatorcsie.slimemapping;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+// 视图模型：视野中心、缩放和选中区块组成一个不可变的 State，整体原子替换，任意线程都可以读取和修改；
+// 多个 CoordinateSystem 可以共用同一个模型（如并排比较两个种子），每个视图按自己的尺寸换算成屏幕偏移
+public class ViewModel {
+    // 模型变化时回调（在修改模型的线程中调用），state 为本次修改后的状态
+    public interface Listener {
+        void viewChanged(State state);
+    }
+
+    public static final class State {
+        public static final State INITIAL = new State(0, 0, 1.0, false, 0, 0, false);
+
+        // 视野中心的世界坐标（方块单位）
+        private final double centerX;
+        private final double centerZ;
+        // 每个方块对应的像素数（即 CoordinateSystem 的缩放倍数）
+        private final double scale;
+        private final boolean selected;
+        private final int selectedX;
+        private final int selectedZ;
+        // 缩放是否以平滑动画过渡（滚轮缩放）；程序设置的视图直接跳到目标
+        private final boolean animated;
+
+        private State(double centerX, double centerZ, double scale, boolean selected, int selectedX, int selectedZ,
+                boolean animated) {
+            this.centerX = centerX;
+            this.centerZ = centerZ;
+            this.scale = clampScale(scale);
+            this.selected = selected;
+            this.selectedX = selectedX;
+            this.selectedZ = selectedZ;
+            this.animated = animated;
+        }
+
+        // 缩放倍数限制在 CoordinateSystem 支持的范围内，跟随其他视图的小地图也不会越界
+        static double clampScale(double scale) {
+            return Math.max(CoordinateSystem.MIN_SCALE, Math.min(CoordinateSystem.MAX_SCALE, scale));
+        }
+
+        public double getCenterX() {
+            return centerX;
+        }
+
+        public double getCenterZ() {
+            return centerZ;
+        }
+
+        public double getScale() {
+            return scale;
+        }
+
+        public boolean isAnimated() {
+            return animated;
+        }
+
+        // 选中的区块坐标，未选中时为 null；每次返回新的 Point
+        public Point getSelectedChunk() {
+            return selected ? new Point(selectedX, selectedZ) : null;
+        }
+
+        public State withCenter(double x, double z) {
+            return new State(x, z, scale, selected, selectedX, selectedZ, false);
+        }
+
+        public State withView(double x, double z, double newScale) {
+            return new State(x, z, newScale, selected, selectedX, selectedZ, false);
+        }
+
+        // 按屏幕像素平移（拖动方向与内容移动方向相同）
+        public State translate(double dx, double dz) {
+            return new State(centerX - dx / scale, centerZ - dz / scale, scale, selected, selectedX, selectedZ, animated);
+        }
+
+        // 以相对视野中心 (anchorX, anchorZ) 像素处为锚点缩放，锚点下的世界坐标不变
+        public State zoomAround(double anchorX, double anchorZ, double newScale) {
+            double target = clampScale(newScale);
+            double worldX = centerX + anchorX / scale;
+            double worldZ = centerZ + anchorZ / scale;
+            return new State(worldX - anchorX / target, worldZ - anchorZ / target, target, selected, selectedX, selectedZ, true);
+        }
+
+        // chunk 为 null 时取消选中
+        public State withSelection(Point chunk) {
+            if (chunk == null) {
+                return selected ? new State(centerX, centerZ, scale, false, 0, 0, animated) : this;
+            }
+            return new State(centerX, centerZ, scale, true, chunk.x, chunk.y, animated);
+        }
+
+        // 跟随 leader：中心和选中区块与之相同，缩放为其 scaleRatio 倍
+        State followed(State leader, double scaleRatio) {
+            State next = new State(leader.centerX, leader.centerZ, leader.scale * scaleRatio,
+                leader.selected, leader.selectedX, leader.selectedZ, leader.animated);
+            return next.sameView(this) ? this : next;
+        }
+
+        // 取 other 的中心和选中区块，保留自己的缩放
+        State withCenterAndSelection(State other) {
+            State next = new State(other.centerX, other.centerZ, scale, other.selected, other.selectedX, other.selectedZ, false);
+            return next.sameView(this) ? this : next;
+        }
+
+        public boolean sameView(State other) {
+            return centerX == other.centerX && centerZ == other.centerZ && scale == other.scale && sameSelection(other);
+        }
+
+        public boolean sameSelection(State other) {
+            return selected == other.selected && selectedX == other.selectedX && selectedZ == other.selectedZ;
+        }
+    }
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.INITIAL);
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public State get() {
+        return state.get();
+    }
+
+    // 以比较并交换的方式应用 change，并发修改时基于最新状态重试；change 返回原状态时不通知
+    public State update(UnaryOperator<State> change) {
+        State previous;
+        State next;
+        do {
+            previous = state.get();
+            next = change.apply(previous);
+        } while (!state.compareAndSet(previous, next));
+        if (next != previous) {
+            for (Listener listener : listeners) {
+                listener.viewChanged(next);
+            }
+        }
+        return next;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    // 让本模型跟随 leader（如小地图）：中心和选中区块双向同步，缩放固定为 leader 的 scaleRatio 倍
+    public void follow(ViewModel leader, double scaleRatio) {
+        // 回调时重新读取对方的最新状态，并发修改时不会用旧状态覆盖新状态；两边一致时不再通知，同步不会往复
+        leader.addListener(leaderState -> update(s -> s.followed(leader.get(), scaleRatio)));
+        addListener(ownState -> leader.update(s -> s.withCenterAndSelection(get())));
+        update(s -> s.followed(leader.get(), scaleRatio));
+    }
+}